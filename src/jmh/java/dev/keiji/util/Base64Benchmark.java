@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Benchmarks for each kind of public entry point of {@link Base64}, with {@link java.util.Base64} as the baseline.
+ */
+@State(Scope.Thread)
+public class Base64Benchmark {
+
+    @Param({"16", "256", "4096", "65536", "1048576", "67108864", "uuid", "sha256", "jwt", "pem", "blob"})
+    public String payload;
+
+    private byte[] plain;
+
+    private String encoded;
+    private byte[] encodedBytes;
+    private StringBuilder encodedBuilder;
+
+    private String encodedUrlSafe;
+    private byte[] encodedUrlSafeBytes;
+
+    private byte[] encodedBuffer;
+    private char[] encodedChars;
+    private StringBuilder encodedBuilderSink;
+    private byte[] decodedBuffer;
+
+    private ByteArrayOutputStream sink;
+    private byte[] readBuffer;
+
+    private ByteBuffer plainDirect;
+    private ByteBuffer encodedDirect;
+    private ByteBuffer encodedDirectSink;
+    private ByteBuffer decodedDirectSink;
+
+    private Path plainFile;
+    private Path encodedFile;
+    private Path encodedFileSink;
+    private Path decodedFileSink;
+
+    @Setup
+    public void setUp() throws IOException {
+        plain = Payloads.create(payload);
+
+        encoded = Base64.encode(plain);
+        encodedBytes = encoded.getBytes(StandardCharsets.US_ASCII);
+        encodedBuilder = new StringBuilder(encoded);
+
+        encodedUrlSafe = Base64.encodeUrlSafe(plain);
+        encodedUrlSafeBytes = encodedUrlSafe.getBytes(StandardCharsets.US_ASCII);
+
+        encodedBuffer = new byte[Base64.encodedLength(plain.length)];
+        encodedChars = new char[encodedBuffer.length];
+        encodedBuilderSink = new StringBuilder(encodedBuffer.length);
+        decodedBuffer = new byte[plain.length];
+
+        sink = new ByteArrayOutputStream(Math.max(plain.length, encodedBytes.length));
+        readBuffer = new byte[8192];
+
+        plainDirect = ByteBuffer.allocateDirect(plain.length).put(plain);
+        encodedDirect = ByteBuffer.allocateDirect(encodedBytes.length).put(encodedBytes);
+        encodedDirectSink = ByteBuffer.allocateDirect(encodedBytes.length);
+        decodedDirectSink = ByteBuffer.allocateDirect(plain.length);
+
+        plainFile = Files.write(Files.createTempFile("rfc4648-", ".bin"), plain);
+        encodedFile = Files.write(Files.createTempFile("rfc4648-", ".txt"), encodedBytes);
+        encodedFileSink = Files.createTempFile("rfc4648-", ".txt");
+        decodedFileSink = Files.createTempFile("rfc4648-", ".bin");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(plainFile);
+        Files.deleteIfExists(encodedFile);
+        Files.deleteIfExists(encodedFileSink);
+        Files.deleteIfExists(decodedFileSink);
+    }
+
+    @Benchmark
+    public String encode() {
+        return Base64.encode(plain);
+    }
+
+    @Benchmark
+    public String encodeParallel() {
+        return Base64.encodeParallel(plain);
+    }
+
+    @Benchmark
+    public byte[] encodeToBytes() {
+        return Base64.encodeToBytes(plain);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream encodeStream() throws IOException {
+        sink.reset();
+        Base64.encode(new ByteArrayInputStream(plain), sink);
+        return sink;
+    }
+
+    @Benchmark
+    public byte[] encodeToByteArray() {
+        Base64.encode(plain, 0, plain.length, encodedBuffer, 0);
+        return encodedBuffer;
+    }
+
+    @Benchmark
+    public char[] encodeToCharArray() {
+        Base64.encode(plain, 0, plain.length, encodedChars, 0);
+        return encodedChars;
+    }
+
+    @Benchmark
+    public StringBuilder encodeToStringBuilder() {
+        encodedBuilderSink.setLength(0);
+        Base64.encodeTo(plain, 0, plain.length, encodedBuilderSink);
+        return encodedBuilderSink;
+    }
+
+    @Benchmark
+    public ByteBuffer encodeByteBuffer() {
+        plainDirect.clear();
+        encodedDirectSink.clear();
+        Base64.encode(plainDirect, encodedDirectSink);
+        return encodedDirectSink;
+    }
+
+    @Benchmark
+    public Path encodeFile() throws IOException {
+        Base64.encode(plainFile, encodedFileSink);
+        return encodedFileSink;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream encodeWrap() throws IOException {
+        sink.reset();
+        try (OutputStream outputStream = Base64.wrap(sink)) {
+            outputStream.write(plain);
+        }
+        return sink;
+    }
+
+    @Benchmark
+    public String encodeUrlSafe() {
+        return Base64.encodeUrlSafe(plain);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream encodeUrlSafeStream() throws IOException {
+        sink.reset();
+        Base64.encodeUrlSafe(new ByteArrayInputStream(plain), sink);
+        return sink;
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return Base64.decode(encoded);
+    }
+
+    @Benchmark
+    public byte[] decodeStringBuilder() {
+        return Base64.decode(encodedBuilder);
+    }
+
+    @Benchmark
+    public byte[] decodeParallel() {
+        return Base64.decodeParallel(encoded);
+    }
+
+    @Benchmark
+    public byte[] decodeFromBytes() {
+        return Base64.decodeFromBytes(encodedBytes);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream decodeStream() throws IOException {
+        sink.reset();
+        Base64.decode(new ByteArrayInputStream(encodedBytes), sink);
+        return sink;
+    }
+
+    @Benchmark
+    public byte[] decodeToByteArray() {
+        Base64.decode(encoded, 0, encoded.length(), decodedBuffer, 0);
+        return decodedBuffer;
+    }
+
+    @Benchmark
+    public ByteBuffer decodeByteBuffer() {
+        encodedDirect.clear();
+        decodedDirectSink.clear();
+        Base64.decode(encodedDirect, decodedDirectSink);
+        return decodedDirectSink;
+    }
+
+    @Benchmark
+    public Path decodeFile() throws IOException {
+        Base64.decode(encodedFile, decodedFileSink);
+        return decodedFileSink;
+    }
+
+    @Benchmark
+    public int decodeWrap() throws IOException {
+        int total = 0;
+        try (InputStream inputStream = Base64.wrap(new ByteArrayInputStream(encodedBytes))) {
+            int read;
+            while ((read = inputStream.read(readBuffer)) != -1) {
+                total += read;
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public byte[] decodeUrlSafe() {
+        return Base64.decodeUrlSafe(encodedUrlSafe);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream decodeUrlSafeStream() throws IOException {
+        sink.reset();
+        Base64.decodeUrlSafe(new ByteArrayInputStream(encodedUrlSafeBytes), sink);
+        return sink;
+    }
+
+    @Benchmark
+    public String codecEncode() {
+        return Base64.standard().encode(plain);
+    }
+
+    @Benchmark
+    public byte[] codecDecode() {
+        return Base64.standard().decode(encoded);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream codecEncodeStream() throws IOException {
+        sink.reset();
+        Base64.standard().encode(new ByteArrayInputStream(plain), sink);
+        return sink;
+    }
+
+    @Benchmark
+    public String jdkEncode() {
+        return java.util.Base64.getEncoder().encodeToString(plain);
+    }
+
+    @Benchmark
+    public String jdkEncodeUrlSafe() {
+        return java.util.Base64.getUrlEncoder().encodeToString(plain);
+    }
+
+    @Benchmark
+    public byte[] jdkDecode() {
+        return java.util.Base64.getDecoder().decode(encoded);
+    }
+
+    @Benchmark
+    public byte[] jdkDecodeUrlSafe() {
+        return java.util.Base64.getUrlDecoder().decode(encodedUrlSafe);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Input data shared by the benchmarks.
+ * <p>
+ * A payload name is either a size in bytes, which produces random data of that size,
+ * or the name of one of the realistic corpora below.
+ */
+final class Payloads {
+
+    private static final long SEED = 4648L;
+
+    private static final int PEM_BODY_SIZE = 1190; // DER of a typical 2048-bit RSA certificate
+    private static final int BLOB_SIZE = 8 * 1024 * 1024;
+
+    private Payloads() {
+    }
+
+    static byte[] create(String name) {
+        switch (name) {
+            case "uuid":
+                return uuid();
+            case "sha256":
+                return sha256();
+            case "jwt":
+                return jwt();
+            case "pem":
+                return random(PEM_BODY_SIZE);
+            case "blob":
+                return random(BLOB_SIZE);
+            default:
+                return random(Integer.parseInt(name));
+        }
+    }
+
+    private static byte[] random(int size) {
+        byte[] data = new byte[size];
+        new Random(SEED).nextBytes(data);
+        return data;
+    }
+
+    private static byte[] uuid() {
+        Random random = new Random(SEED);
+        UUID uuid = new UUID(
+                (random.nextLong() & ~0xF000L) | 0x4000L,
+                (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L
+        );
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static byte[] sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256")
+                    .digest("RFC4648 for Java".getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] jwt() {
+        // Payload segment of an access token issued by a typical OpenID Connect provider.
+        String claims = "{"
+                + "\"iss\":\"https://auth.example.com/\","
+                + "\"sub\":\"248289761001\","
+                + "\"aud\":\"s6BhdRkqt3\","
+                + "\"scope\":\"openid profile email offline_access\","
+                + "\"nonce\":\"n-0S6_WzA2Mj\","
+                + "\"exp\":1311281970,"
+                + "\"iat\":1311280970,"
+                + "\"auth_time\":1311280969,"
+                + "\"acr\":\"urn:mace:incommon:iap:silver\""
+                + "}";
+        return claims.getBytes(StandardCharsets.UTF_8);
+    }
+}
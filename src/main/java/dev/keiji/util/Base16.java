@@ -16,13 +16,11 @@
 
 package dev.keiji.util;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 /**
@@ -56,6 +54,21 @@ public class Base16 {
         }
     }
 
+    private static final CodecEngine ENGINE = CodecEngines.base16(new Engine());
+
+    private static final Codec UPPER = new Codec("Base16", ENGINE, true);
+
+    /**
+     * Return the shared codec of the Base16 alphabet, which has upper-case letters.
+     * <p>
+     * The codec does what the static methods of this class do.
+     *
+     * @return the codec of the Base16 alphabet
+     */
+    public static Codec upper() {
+        return UPPER;
+    }
+
     /**
      * Base16-encode the given data and return a newly allocated String with the result.
      *
@@ -63,7 +76,120 @@ public class Base16 {
      * @return a newly allocated String with the result
      */
     public static String encode(byte[] input) {
-        return Encoder.encode(input);
+        return ENGINE.encodeToString(input, false);
+    }
+
+    /**
+     * Base16-encode the given data on multiple threads and return a newly allocated String with the result.
+     * <p>
+     * The data is split at block boundaries and encoded on the common ForkJoinPool.
+     * Data smaller than the threshold set by the system property
+     * {@code dev.keiji.util.parallelThreshold} (1 MiB by default) is encoded on the calling thread.
+     *
+     * @param input the data to encode
+     * @return a newly allocated String with the result
+     */
+    public static String encodeParallel(byte[] input) {
+        return ENGINE.encodeToString(input, true);
+    }
+
+    /**
+     * Return the length of the Base16-encoded data of inputLength bytes.
+     *
+     * @param inputLength the number of bytes to encode
+     * @return the number of characters of the result
+     */
+    public static int encodedLength(int inputLength) {
+        return ENGINE.encodedLength(inputLength);
+    }
+
+    /**
+     * Base16-encode len bytes of src from srcOffset into dst from dstOffset.
+     * <p>
+     * dst must have room for {@link #encodedLength(int) encodedLength(len)} bytes. Nothing is allocated.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of bytes written to dst
+     */
+    public static int encode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        return ENGINE.encodeInto(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Base16-encode len bytes of src from srcOffset into dst from dstOffset as chars.
+     * <p>
+     * dst must have room for {@link #encodedLength(int) encodedLength(len)} chars. Nothing is allocated
+     * except a small buffer per thread on the first call.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of chars written to dst
+     */
+    public static int encode(byte[] src, int srcOffset, int len, char[] dst, int dstOffset) {
+        return ENGINE.encodeInto(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Base16-encode len bytes of src from srcOffset and append the result to out.
+     * <p>
+     * The capacity of out is ensured once and the result is appended in chunks,
+     * without creating a String of the whole result.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param out       the StringBuilder to append the result to
+     * @return the number of chars appended to out
+     */
+    public static int encodeTo(byte[] src, int srcOffset, int len, StringBuilder out) {
+        return ENGINE.encodeTo(src, srcOffset, len, out);
+    }
+
+    /**
+     * Base16-encode len bytes of src from srcOffset and append the result to out.
+     * <p>
+     * The result is appended in chunks, without creating a String of the whole result.
+     * A Writer takes each chunk as a char array.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param out       the Appendable to append the result to
+     * @return the number of chars appended to out
+     */
+    public static int encodeTo(byte[] src, int srcOffset, int len, Appendable out) throws IOException {
+        return ENGINE.encodeTo(src, srcOffset, len, out);
+    }
+
+    /**
+     * Base16-encode the given data and return the result as ASCII characters in a new byte array.
+     * <p>
+     * No String is created, so the result can be written to a stream or a channel as it is.
+     *
+     * @param input the data to encode
+     * @return the ASCII characters of the result in a new byte array
+     */
+    public static byte[] encodeToBytes(byte[] input) {
+        return ENGINE.encodeToBytes(input);
+    }
+
+    /**
+     * Base16-encode len bytes of input from offset and return the result as ASCII characters in a new byte array.
+     *
+     * @param input  the data to encode
+     * @param offset the offset of the data in input
+     * @param len    the number of bytes to encode
+     * @return the ASCII characters of the result in a new byte array
+     */
+    public static byte[] encodeToBytes(byte[] input, int offset, int len) {
+        return ENGINE.encodeToBytes(input, offset, len);
     }
 
     /**
@@ -73,7 +199,48 @@ public class Base16 {
      * @param outputStream the output stream of the result
      */
     public static void encode(InputStream inputStream, OutputStream outputStream) throws IOException {
-        Encoder.encode(inputStream, outputStream);
+        ENGINE.encode(inputStream, outputStream);
+    }
+
+    /**
+     * Base16-encode the remaining bytes of src into dst.
+     * <p>
+     * Encoding stops when dst is full. The positions of both buffers are advanced past the
+     * consumed and produced bytes, so the call can be repeated with more space in dst
+     * until src has no remaining bytes.
+     *
+     * @param src the data to encode
+     * @param dst the buffer of the result
+     * @return the number of bytes written to dst
+     */
+    public static int encode(ByteBuffer src, ByteBuffer dst) {
+        return ENGINE.encode(src, dst);
+    }
+
+    /**
+     * Base16-encode the file in and write the result to the file out.
+     * <p>
+     * Both files are memory-mapped in windows, so files larger than 2 GB are supported.
+     * out is created if it does not exist, and truncated if it does.
+     *
+     * @param in  the file to encode
+     * @param out the file of the result
+     */
+    public static void encode(Path in, Path out) throws IOException {
+        ENGINE.encode(in, out);
+    }
+
+    /**
+     * Wrap the given output stream to Base16-encode the data written to it.
+     * <p>
+     * The data is encoded incrementally through an internal buffer, which {@code flush()} and
+     * {@code close()} write out. Closing the returned stream closes outputStream.
+     *
+     * @param outputStream the output stream of the result
+     * @return the output stream to write the data to encode
+     */
+    public static OutputStream wrap(OutputStream outputStream) {
+        return new EncodingOutputStream(ENGINE, outputStream);
     }
 
     /**
@@ -83,7 +250,107 @@ public class Base16 {
      * @return the data in a new byte array
      */
     public static byte[] decode(String input) {
-        return Decoder.decode(input);
+        return ENGINE.decodeChars(input, true, false);
+    }
+
+    /**
+     * Decode the Base16-encoded data in input and return the data in a new byte array.
+     * <p>
+     * input can be any CharSequence, such as a StringBuilder or a CharBuffer. It is read in place.
+     *
+     * @param input the data to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decode(CharSequence input) {
+        return ENGINE.decodeChars(input, true, false);
+    }
+
+    /**
+     * Decode the Base16-encoded data in input from start to end and return the data in a new byte array.
+     * <p>
+     * The result is the same as decoding {@code input.subSequence(start, end)}, but the range is read in place.
+     *
+     * @param input the data to decode
+     * @param start the index of the first character to decode
+     * @param end   the index after the last character to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decode(CharSequence input, int start, int end) {
+        return ENGINE.decodeChars(input, start, end, true, false);
+    }
+
+    /**
+     * Decode the Base16-encoded data in input on multiple threads and return the data in a new byte array.
+     * <p>
+     * The data is split at block boundaries and decoded on the common ForkJoinPool.
+     * Data smaller than the threshold set by the system property
+     * {@code dev.keiji.util.parallelThreshold} (1 MiB by default) is decoded on the calling thread.
+     * The result and the reported invalid character are the same as {@link #decode(String)}.
+     * input can be any CharSequence, such as a StringBuilder or a CharBuffer. It is read in place.
+     *
+     * @param input the data to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeParallel(CharSequence input) {
+        return ENGINE.decodeChars(input, true, true);
+    }
+
+    /**
+     * Return the length of the data decoded from the Base16-encoded input.
+     * <p>
+     * The length of input is not validated; decoding reports an odd length.
+     *
+     * @param input the data to decode
+     * @return the number of bytes of the result
+     */
+    public static int decodedLength(CharSequence input) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input string must not be null.");
+        }
+        return ENGINE.decodedLength(input, 0, input.length());
+    }
+
+    /**
+     * Decode len characters of the Base16-encoded data in src from srcOffset into dst from dstOffset.
+     * <p>
+     * dst must have room for {@link #decodedLength(CharSequence) decodedLength} of the characters.
+     * Nothing is allocated.
+     *
+     * @param src       the data to decode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of characters to decode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of bytes written to dst
+     */
+    public static int decode(CharSequence src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        return ENGINE.decodeInto(src, srcOffset, len, true, dst, dstOffset);
+    }
+
+    /**
+     * Decode the Base16-encoded ASCII characters in input and return the data in a new byte array.
+     * <p>
+     * No String is created. The data is decoded block by block as {@link #decode(InputStream, OutputStream)} does.
+     *
+     * @param input the ASCII characters to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeFromBytes(byte[] input) {
+        return ENGINE.decodeFromBytes(input, true);
+    }
+
+    /**
+     * Decode len bytes of the Base16-encoded ASCII characters in input from offset and return the data in a new byte array.
+     * <p>
+     * No String is created. The data is decoded block by block as {@link #decode(InputStream, OutputStream)} does.
+     *
+     * @param input  the ASCII characters to decode
+     * @param offset the offset of the characters in input
+     * @param len    the number of characters to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeFromBytes(byte[] input, int offset, int len) {
+        return ENGINE.decodeFromBytes(input, offset, len, true);
     }
 
     /**
@@ -93,118 +360,316 @@ public class Base16 {
      * @param outputStream the output stream of the result
      */
     public static void decode(InputStream inputStream, OutputStream outputStream) throws IOException {
-        Decoder.decode(inputStream, outputStream);
+        ENGINE.decode(inputStream, outputStream);
+    }
+
+    /**
+     * Decode the Base16-encoded data in the remaining bytes of src into dst.
+     * <p>
+     * Decoding stops when dst is full. The positions of both buffers are advanced past the
+     * consumed and produced bytes, so the call can be repeated with more space in dst
+     * until src has no remaining bytes.
+     *
+     * @param src the data to decode
+     * @param dst the buffer of the result
+     * @return the number of bytes written to dst
+     */
+    public static int decode(ByteBuffer src, ByteBuffer dst) {
+        return ENGINE.decode(src, dst);
+    }
+
+    /**
+     * Decode the Base16-encoded data in the file in and write the result to the file out.
+     * <p>
+     * Both files are memory-mapped in windows, so files larger than 2 GB are supported.
+     * out is created if it does not exist, and truncated if it does.
+     *
+     * @param in  the file to decode
+     * @param out the file of the result
+     */
+    public static void decode(Path in, Path out) throws IOException {
+        ENGINE.decode(in, out);
+    }
+
+    /**
+     * Wrap the given input stream to decode the Base16-encoded data read from it.
+     * <p>
+     * The data is decoded on demand through a block-aligned buffer.
+     * Closing the returned stream closes inputStream.
+     *
+     * @param inputStream the data stream to decode
+     * @return the input stream of the result
+     */
+    public static InputStream wrap(InputStream inputStream) {
+        return new DecodingInputStream(ENGINE, inputStream);
+    }
+
+    private static class Engine extends CodecEngine {
+
+        Engine() {
+            super(PLAIN_DATA_BLOCK_SIZE, ENCODED_DATA_BLOCK_SIZE);
+        }
+
+        @Override
+        int encode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+            return Encoder.encode(src, srcOffset, len, dst, dstOffset);
+        }
+
+        @Override
+        int decode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+            return Decoder.decode(src, srcOffset, len, dst, dstOffset);
+        }
+
+        @Override
+        int decode(CharSequence src, int start, int end, byte[] dst, int dstOffset) {
+            return Decoder.decode(src, start, end, dst, dstOffset);
+        }
+
+        @Override
+        int encode(ByteBuffer src, int srcIndex, int len, ByteBuffer dst, int dstIndex) {
+            return Encoder.encode(src, srcIndex, len, dst, dstIndex);
+        }
+
+        @Override
+        int decode(ByteBuffer src, int srcIndex, int len, ByteBuffer dst, int dstIndex) {
+            return Decoder.decode(src, srcIndex, len, dst, dstIndex);
+        }
     }
 
     private static class Encoder {
         private static final int BIT_MASK = 0xF; // = 00001111
+        private static final int UNROLL_SIZE = 4;
 
-        public static String encode(byte[] input) {
-            if (input == null) {
-                throw new IllegalArgumentException("Input data must not be null.");
-            }
+        // The two characters of each byte value. The first character is in the upper 8 bits.
+        private static final short[] TABLE_ENCODE_PAIR = new short[1 << 8];
 
-            ByteArrayInputStream bais = new ByteArrayInputStream(input);
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-            try {
-                encode(bais, baos);
-                return baos.toString(StandardCharsets.US_ASCII.name());
-            } catch (UnsupportedEncodingException e) {
-                return baos.toString();
-            } catch (IOException e) {
-                // ByteArray[Input|Output]Stream never throws IOException
-                return null;
+        static {
+            for (int i = 0; i < TABLE_ENCODE_PAIR.length; i++) {
+                TABLE_ENCODE_PAIR[i] = (short) (TABLE_ENCODE[i >>> 4] << 8 | TABLE_ENCODE[i & BIT_MASK]);
             }
         }
 
-        private static void encode(
-                InputStream inputStream,
-                OutputStream outputStream
-        ) throws IOException {
-            if (inputStream == null) {
-                throw new IllegalArgumentException("inputStream must be not null.");
+        /**
+         * Encode len bytes of src into dst and return the number of bytes written.
+         */
+        private static int encode(
+                byte[] src, int srcOffset, int len,
+                byte[] dst, int dstOffset
+        ) {
+            int index = srcOffset;
+            int end = srcOffset + len;
+            int unrolledEnd = srcOffset + len / UNROLL_SIZE * UNROLL_SIZE;
+            int dstIndex = dstOffset;
+
+            while (index < unrolledEnd) {
+                int pair0 = TABLE_ENCODE_PAIR[src[index] & 0xFF];
+                int pair1 = TABLE_ENCODE_PAIR[src[index + 1] & 0xFF];
+                int pair2 = TABLE_ENCODE_PAIR[src[index + 2] & 0xFF];
+                int pair3 = TABLE_ENCODE_PAIR[src[index + 3] & 0xFF];
+                index += UNROLL_SIZE;
+
+                ByteArrays.putShorts(dst, dstIndex, pair0, pair1, pair2, pair3);
+                dstIndex += UNROLL_SIZE * ENCODED_DATA_BLOCK_SIZE;
             }
-            if (outputStream == null) {
-                throw new IllegalArgumentException("outputStream must be not null.");
-            }
-
-            byte[] plainDataBlock = new byte[PLAIN_DATA_BLOCK_SIZE];
-            byte[] encodedDataBlock = new byte[ENCODED_DATA_BLOCK_SIZE];
-
-            while (inputStream.read(plainDataBlock, 0, PLAIN_DATA_BLOCK_SIZE) > 0) {
-                int value = byteToInt(plainDataBlock[0]);
 
-                encodedDataBlock[0] = TABLE_ENCODE[getIndex(value, 4)];
-                encodedDataBlock[1] = TABLE_ENCODE[getIndex(value, 0)];
+            while (index < end) {
+                int pair = TABLE_ENCODE_PAIR[src[index++] & 0xFF];
 
-                outputStream.write(encodedDataBlock, 0, ENCODED_DATA_BLOCK_SIZE);
+                dst[dstIndex++] = (byte) (pair >>> 8);
+                dst[dstIndex++] = (byte) pair;
             }
-        }
 
-        private static int byteToInt(byte bucketValue) {
-            return ((int) bucketValue) & 0xFF;
+            return dstIndex - dstOffset;
         }
 
-        private static byte getIndex(long value, int shift) {
-            return (byte) ((value & BIT_MASK << shift) >>> shift);
+        /**
+         * Encode len bytes of src into dst and return the number of bytes written.
+         */
+        private static int encode(
+                ByteBuffer src, int srcIndex, int len,
+                ByteBuffer dst, int dstIndex
+        ) {
+            int dstStart = dstIndex;
+            for (int index = srcIndex; index < srcIndex + len; index++) {
+                int pair = TABLE_ENCODE_PAIR[src.get(index) & 0xFF];
+
+                dst.put(dstIndex++, (byte) (pair >>> 8));
+                dst.put(dstIndex++, (byte) pair);
+            }
+            return dstIndex - dstStart;
         }
     }
 
     private static class Decoder {
-
-        public static byte[] decode(String input) {
-            if (input == null) {
-                throw new IllegalArgumentException("Input string must not be null.");
+        private static final int UNROLL_SIZE = 8;
+
+        // The byte value of each pair of ASCII characters, indexed by (first << 7 | second),
+        // or -1 if either character is not in the alphabet.
+        private static final short[] TABLE_DECODE_PAIR = new short[1 << 14];
+
+        static {
+            Arrays.fill(TABLE_DECODE_PAIR, (short) -1);
+            for (int high = 0; high < TABLE_ENCODE.length; high++) {
+                for (int low = 0; low < TABLE_ENCODE.length; low++) {
+                    TABLE_DECODE_PAIR[TABLE_ENCODE[high] << 7 | TABLE_ENCODE[low]] = (short) (high << 4 | low);
+                }
             }
-            if (input.length() == 0) {
-                return new byte[0];
+        }
+
+        /**
+         * Decode the characters of input in [start, end) into dst and return the number of bytes written.
+         */
+        private static int decode(
+                CharSequence input, int start, int end,
+                byte[] dst, int dstOffset
+        ) {
+            int index = start;
+            int unrolledEnd = start + (end - start) / UNROLL_SIZE * UNROLL_SIZE;
+            int dstIndex = dstOffset;
+
+            for (; index < unrolledEnd; index += UNROLL_SIZE) {
+                char key0 = input.charAt(index);
+                char key1 = input.charAt(index + 1);
+                char key2 = input.charAt(index + 2);
+                char key3 = input.charAt(index + 3);
+                char key4 = input.charAt(index + 4);
+                char key5 = input.charAt(index + 5);
+                char key6 = input.charAt(index + 6);
+                char key7 = input.charAt(index + 7);
+
+                if ((key0 | key1 | key2 | key3 | key4 | key5 | key6 | key7) < 0x80) {
+                    int value0 = TABLE_DECODE_PAIR[key0 << 7 | key1];
+                    int value1 = TABLE_DECODE_PAIR[key2 << 7 | key3];
+                    int value2 = TABLE_DECODE_PAIR[key4 << 7 | key5];
+                    int value3 = TABLE_DECODE_PAIR[key6 << 7 | key7];
+
+                    if ((value0 | value1 | value2 | value3) >= 0) {
+                        dst[dstIndex] = (byte) value0;
+                        dst[dstIndex + 1] = (byte) value1;
+                        dst[dstIndex + 2] = (byte) value2;
+                        dst[dstIndex + 3] = (byte) value3;
+                        dstIndex += UNROLL_SIZE / ENCODED_DATA_BLOCK_SIZE;
+                        continue;
+                    }
+                }
+
+                dstIndex = decodeScalar(input, index, index + UNROLL_SIZE, dst, dstIndex);
             }
-            if (input.length() % 2 != 0) {
-                throw new IllegalArgumentException("Input string length must be divisible by 2.");
+
+            dstIndex = decodeScalar(input, index, end, dst, dstIndex);
+            return dstIndex - dstOffset;
+        }
+
+        private static int decodeScalar(
+                CharSequence input, int start, int end,
+                byte[] dst, int dstIndex
+        ) {
+            for (int index = start; index < end; index += ENCODED_DATA_BLOCK_SIZE) {
+                int valueHigh = getTableValue(TABLE_DECODE, input.charAt(index)) << 4;
+                int valueLow = getTableValue(TABLE_DECODE, input.charAt(index + 1));
+                dst[dstIndex++] = (byte) (valueHigh | valueLow);
             }
+            return dstIndex;
+        }
 
-            ByteArrayInputStream bais = new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII));
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        /**
+         * Decode len bytes of src into dst and return the number of bytes written.
+         */
+        private static int decode(
+                byte[] src, int srcOffset, int len,
+                byte[] dst, int dstOffset
+        ) {
+            if (len % ENCODED_DATA_BLOCK_SIZE != 0) {
+                throw new IllegalArgumentException("Input data length must be divisible by 2.");
+            }
 
-            try {
-                decode(bais, baos);
-                return baos.toByteArray();
-            } catch (IOException e) {
-                // ByteArray[Input|Output]Stream never throws IOException
-                return null;
+            int index = srcOffset;
+            int end = srcOffset + len;
+            int unrolledEnd = srcOffset + len / UNROLL_SIZE * UNROLL_SIZE;
+            int dstIndex = dstOffset;
+
+            for (; index < unrolledEnd; index += UNROLL_SIZE) {
+                byte key0 = src[index];
+                byte key1 = src[index + 1];
+                byte key2 = src[index + 2];
+                byte key3 = src[index + 3];
+                byte key4 = src[index + 4];
+                byte key5 = src[index + 5];
+                byte key6 = src[index + 6];
+                byte key7 = src[index + 7];
+
+                // Non-ASCII bytes are negative.
+                if ((key0 | key1 | key2 | key3 | key4 | key5 | key6 | key7) >= 0) {
+                    int value0 = TABLE_DECODE_PAIR[key0 << 7 | key1];
+                    int value1 = TABLE_DECODE_PAIR[key2 << 7 | key3];
+                    int value2 = TABLE_DECODE_PAIR[key4 << 7 | key5];
+                    int value3 = TABLE_DECODE_PAIR[key6 << 7 | key7];
+
+                    if ((value0 | value1 | value2 | value3) >= 0) {
+                        dst[dstIndex] = (byte) value0;
+                        dst[dstIndex + 1] = (byte) value1;
+                        dst[dstIndex + 2] = (byte) value2;
+                        dst[dstIndex + 3] = (byte) value3;
+                        dstIndex += UNROLL_SIZE / ENCODED_DATA_BLOCK_SIZE;
+                        continue;
+                    }
+                }
+
+                dstIndex = decodeScalar(src, index, index + UNROLL_SIZE, dst, dstIndex);
             }
+
+            dstIndex = decodeScalar(src, index, end, dst, dstIndex);
+            return dstIndex - dstOffset;
         }
 
-        private static void decode(
-                InputStream inputStream,
-                OutputStream outputStream
-        ) throws IOException {
-            if (inputStream == null) {
-                throw new IllegalArgumentException("inputStream must be not null.");
+        private static int decodeScalar(
+                byte[] src, int start, int end,
+                byte[] dst, int dstIndex
+        ) {
+            for (int index = start; index < end; index += ENCODED_DATA_BLOCK_SIZE) {
+                int valueHigh = getTableValue(TABLE_DECODE, src[index]) << 4;
+                int valueLow = getTableValue(TABLE_DECODE, src[index + 1]);
+                dst[dstIndex++] = (byte) (valueHigh | valueLow);
             }
-            if (outputStream == null) {
-                throw new IllegalArgumentException("outputStream must be not null.");
+            return dstIndex;
+        }
+
+        /**
+         * Decode len bytes of src into dst and return the number of bytes written.
+         */
+        private static int decode(
+                ByteBuffer src, int srcIndex, int len,
+                ByteBuffer dst, int dstIndex
+        ) {
+            if (len % ENCODED_DATA_BLOCK_SIZE != 0) {
+                throw new IllegalArgumentException("Input data length must be divisible by 2.");
             }
 
-            byte[] encodedDataBlock = new byte[ENCODED_DATA_BLOCK_SIZE];
-            byte[] plainDataBlock = new byte[PLAIN_DATA_BLOCK_SIZE];
+            int dstStart = dstIndex;
+            for (int index = srcIndex; index < srcIndex + len; index += ENCODED_DATA_BLOCK_SIZE) {
+                byte key0 = src.get(index);
+                byte key1 = src.get(index + 1);
 
-            while (inputStream.read(encodedDataBlock, 0, ENCODED_DATA_BLOCK_SIZE) > 0) {
-                int valueHigh = getTableValue(TABLE_DECODE, encodedDataBlock[0]) << 4;
-                int valueLow = getTableValue(TABLE_DECODE, encodedDataBlock[1]);
-                plainDataBlock[0] = (byte) (valueHigh + valueLow);
-                outputStream.write(plainDataBlock, 0, PLAIN_DATA_BLOCK_SIZE);
+                int value = ((key0 | key1) >= 0) ? TABLE_DECODE_PAIR[key0 << 7 | key1] : -1;
+                if (value < 0) {
+                    value = getTableValue(TABLE_DECODE, key0) << 4 | getTableValue(TABLE_DECODE, key1);
+                }
+                dst.put(dstIndex++, (byte) value);
             }
+            return dstIndex - dstStart;
         }
 
-        private static int getTableValue(byte[] tableDecode, byte value) {
-            if (value <= 0) {
-                return 0;
+        private static int getTableValue(byte[] tableDecode, char key) {
+            if (key >= tableDecode.length || tableDecode[key] < 0) {
+                throw new IllegalArgumentException(String.format("Invalid character %c detected.", key));
             }
+            return tableDecode[key];
+        }
 
-            char key = (char) value;
-            int tableValue = tableDecode[key];
+        private static int getTableValue(byte[] tableDecode, byte value) {
+            // Non-ASCII bytes are negative.
+            char key = (char) (value & 0xFF);
+            int tableValue = (value >= 0) ? tableDecode[key] : -1;
             if (tableValue < 0) {
                 throw new IllegalArgumentException(String.format("Invalid character %c detected.", key));
             }
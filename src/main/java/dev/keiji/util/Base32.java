@@ -16,13 +16,11 @@
 
 package dev.keiji.util;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 /**
@@ -73,6 +71,36 @@ public class Base32 {
         TABLE_DECODE_EXTENDED_HEX[PAD] = 0;
     }
 
+    private static final CodecEngine ENGINE = CodecEngines.base32(
+            new Engine(TABLE_ENCODE, TABLE_DECODE), TABLE_ENCODE);
+    private static final CodecEngine ENGINE_EXTENDED_HEX = CodecEngines.base32(
+            new Engine(TABLE_ENCODE_EXTENDED_HEX, TABLE_DECODE_EXTENDED_HEX), TABLE_ENCODE_EXTENDED_HEX);
+
+    private static final Codec STANDARD = new Codec("Base32", ENGINE, true);
+    private static final Codec EXTENDED_HEX = new Codec("Base32 extended hex", ENGINE_EXTENDED_HEX, true);
+
+    /**
+     * Return the shared codec of the Base32 alphabet.
+     * <p>
+     * The codec does what the static methods of this class do.
+     *
+     * @return the codec of the Base32 alphabet
+     */
+    public static Codec standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Return the shared codec of the Base32 extended hex alphabet.
+     * <p>
+     * The codec does what the ExtendedHex static methods of this class do.
+     *
+     * @return the codec of the Base32 extended hex alphabet
+     */
+    public static Codec extendedHex() {
+        return EXTENDED_HEX;
+    }
+
     /**
      * Base32-encode the given data and return a newly allocated String with the result.
      *
@@ -80,7 +108,120 @@ public class Base32 {
      * @return a newly allocated String with the result
      */
     public static String encode(byte[] input) {
-        return Encoder.encode(input, TABLE_ENCODE);
+        return ENGINE.encodeToString(input, false);
+    }
+
+    /**
+     * Base32-encode the given data on multiple threads and return a newly allocated String with the result.
+     * <p>
+     * The data is split at block boundaries and encoded on the common ForkJoinPool.
+     * Data smaller than the threshold set by the system property
+     * {@code dev.keiji.util.parallelThreshold} (1 MiB by default) is encoded on the calling thread.
+     *
+     * @param input the data to encode
+     * @return a newly allocated String with the result
+     */
+    public static String encodeParallel(byte[] input) {
+        return ENGINE.encodeToString(input, true);
+    }
+
+    /**
+     * Return the length of the Base32-encoded data of inputLength bytes including padding. The length is the same for both alphabets.
+     *
+     * @param inputLength the number of bytes to encode
+     * @return the number of characters of the result
+     */
+    public static int encodedLength(int inputLength) {
+        return ENGINE.encodedLength(inputLength);
+    }
+
+    /**
+     * Base32-encode len bytes of src from srcOffset into dst from dstOffset.
+     * <p>
+     * dst must have room for {@link #encodedLength(int) encodedLength(len)} bytes. Nothing is allocated.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of bytes written to dst
+     */
+    public static int encode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        return ENGINE.encodeInto(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Base32-encode len bytes of src from srcOffset into dst from dstOffset as chars.
+     * <p>
+     * dst must have room for {@link #encodedLength(int) encodedLength(len)} chars. Nothing is allocated
+     * except a small buffer per thread on the first call.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of chars written to dst
+     */
+    public static int encode(byte[] src, int srcOffset, int len, char[] dst, int dstOffset) {
+        return ENGINE.encodeInto(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Base32-encode len bytes of src from srcOffset and append the result to out.
+     * <p>
+     * The capacity of out is ensured once and the result is appended in chunks,
+     * without creating a String of the whole result.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param out       the StringBuilder to append the result to
+     * @return the number of chars appended to out
+     */
+    public static int encodeTo(byte[] src, int srcOffset, int len, StringBuilder out) {
+        return ENGINE.encodeTo(src, srcOffset, len, out);
+    }
+
+    /**
+     * Base32-encode len bytes of src from srcOffset and append the result to out.
+     * <p>
+     * The result is appended in chunks, without creating a String of the whole result.
+     * A Writer takes each chunk as a char array.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param out       the Appendable to append the result to
+     * @return the number of chars appended to out
+     */
+    public static int encodeTo(byte[] src, int srcOffset, int len, Appendable out) throws IOException {
+        return ENGINE.encodeTo(src, srcOffset, len, out);
+    }
+
+    /**
+     * Base32-encode the given data and return the result as ASCII characters in a new byte array.
+     * <p>
+     * No String is created, so the result can be written to a stream or a channel as it is.
+     *
+     * @param input the data to encode
+     * @return the ASCII characters of the result in a new byte array
+     */
+    public static byte[] encodeToBytes(byte[] input) {
+        return ENGINE.encodeToBytes(input);
+    }
+
+    /**
+     * Base32-encode len bytes of input from offset and return the result as ASCII characters in a new byte array.
+     *
+     * @param input  the data to encode
+     * @param offset the offset of the data in input
+     * @param len    the number of bytes to encode
+     * @return the ASCII characters of the result in a new byte array
+     */
+    public static byte[] encodeToBytes(byte[] input, int offset, int len) {
+        return ENGINE.encodeToBytes(input, offset, len);
     }
 
     /**
@@ -90,7 +231,50 @@ public class Base32 {
      * @param outputStream the output stream of the result
      */
     public static void encode(InputStream inputStream, OutputStream outputStream) throws IOException {
-        Encoder.encode(inputStream, outputStream, TABLE_ENCODE);
+        ENGINE.encode(inputStream, outputStream);
+    }
+
+    /**
+     * Base32-encode the remaining bytes of src into dst.
+     * <p>
+     * The remaining bytes of src are the whole data, so the last incomplete block is padded.
+     * Encoding stops at a block boundary when dst is full. The positions of both buffers are
+     * advanced past the consumed and produced bytes, so the call can be repeated with more space
+     * in dst until src has no remaining bytes.
+     *
+     * @param src the data to encode
+     * @param dst the buffer of the result
+     * @return the number of bytes written to dst
+     */
+    public static int encode(ByteBuffer src, ByteBuffer dst) {
+        return ENGINE.encode(src, dst);
+    }
+
+    /**
+     * Base32-encode the file in and write the result to the file out.
+     * <p>
+     * Both files are memory-mapped in windows, so files larger than 2 GB are supported.
+     * out is created if it does not exist, and truncated if it does.
+     *
+     * @param in  the file to encode
+     * @param out the file of the result
+     */
+    public static void encode(Path in, Path out) throws IOException {
+        ENGINE.encode(in, out);
+    }
+
+    /**
+     * Wrap the given output stream to Base32-encode the data written to it.
+     * <p>
+     * The data is encoded incrementally through a block-aligned buffer. {@code flush()} writes
+     * every complete block, and the last incomplete block is padded on {@code close()}.
+     * Closing the returned stream closes outputStream.
+     *
+     * @param outputStream the output stream of the result
+     * @return the output stream to write the data to encode
+     */
+    public static OutputStream wrap(OutputStream outputStream) {
+        return new EncodingOutputStream(ENGINE, outputStream);
     }
 
     /**
@@ -100,7 +284,109 @@ public class Base32 {
      * @return the data in a new byte array
      */
     public static byte[] decode(String input) {
-        return Decoder.decode(input, TABLE_DECODE);
+        return ENGINE.decodeChars(input, true, false);
+    }
+
+    /**
+     * Decode the Base32-encoded data in input and return the data in a new byte array.
+     * <p>
+     * input can be any CharSequence, such as a StringBuilder or a CharBuffer. It is read in place.
+     *
+     * @param input the data to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decode(CharSequence input) {
+        return ENGINE.decodeChars(input, true, false);
+    }
+
+    /**
+     * Decode the Base32-encoded data in input from start to end and return the data in a new byte array.
+     * <p>
+     * The result is the same as decoding {@code input.subSequence(start, end)}, but the range is read in place.
+     *
+     * @param input the data to decode
+     * @param start the index of the first character to decode
+     * @param end   the index after the last character to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decode(CharSequence input, int start, int end) {
+        return ENGINE.decodeChars(input, start, end, true, false);
+    }
+
+    /**
+     * Decode the Base32-encoded data in input on multiple threads and return the data in a new byte array.
+     * <p>
+     * The data is split at block boundaries and decoded on the common ForkJoinPool.
+     * Data smaller than the threshold set by the system property
+     * {@code dev.keiji.util.parallelThreshold} (1 MiB by default) is decoded on the calling thread.
+     * The result and the reported invalid character are the same as {@link #decode(String)}.
+     * input can be any CharSequence, such as a StringBuilder or a CharBuffer. It is read in place.
+     *
+     * @param input the data to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeParallel(CharSequence input) {
+        return ENGINE.decodeChars(input, true, true);
+    }
+
+    /**
+     * Return the length of the data decoded from the Base32-encoded input.
+     * <p>
+     * Trailing PADs are not counted, so the result is exact for both alphabets
+     * unless a PAD in the middle of the input ends the data early.
+     * The length of input is not validated; decoding reports an invalid length.
+     *
+     * @param input the data to decode
+     * @return the number of bytes of the result
+     */
+    public static int decodedLength(CharSequence input) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input string must not be null.");
+        }
+        return ENGINE.decodedLength(input, 0, input.length());
+    }
+
+    /**
+     * Decode len characters of the Base32-encoded data in src from srcOffset into dst from dstOffset.
+     * <p>
+     * dst must have room for {@link #decodedLength(CharSequence) decodedLength} of the characters.
+     * Nothing is allocated.
+     *
+     * @param src       the data to decode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of characters to decode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of bytes written to dst
+     */
+    public static int decode(CharSequence src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        return ENGINE.decodeInto(src, srcOffset, len, true, dst, dstOffset);
+    }
+
+    /**
+     * Decode the Base32-encoded ASCII characters in input and return the data in a new byte array.
+     * <p>
+     * No String is created. The data is decoded block by block as {@link #decode(InputStream, OutputStream)} does.
+     *
+     * @param input the ASCII characters to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeFromBytes(byte[] input) {
+        return ENGINE.decodeFromBytes(input, true);
+    }
+
+    /**
+     * Decode len bytes of the Base32-encoded ASCII characters in input from offset and return the data in a new byte array.
+     * <p>
+     * No String is created. The data is decoded block by block as {@link #decode(InputStream, OutputStream)} does.
+     *
+     * @param input  the ASCII characters to decode
+     * @param offset the offset of the characters in input
+     * @param len    the number of characters to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeFromBytes(byte[] input, int offset, int len) {
+        return ENGINE.decodeFromBytes(input, offset, len, true);
     }
 
     /**
@@ -110,7 +396,48 @@ public class Base32 {
      * @param outputStream the output stream of the result
      */
     public static void decode(InputStream inputStream, OutputStream outputStream) throws IOException {
-        Decoder.decode(inputStream, outputStream, TABLE_DECODE, true);
+        ENGINE.decode(inputStream, outputStream);
+    }
+
+    /**
+     * Decode the Base32-encoded data in the remaining bytes of src into dst.
+     * <p>
+     * Decoding stops at a block boundary when dst is full. The positions of both buffers are
+     * advanced past the consumed and produced bytes, so the call can be repeated with more space
+     * in dst until src has no remaining bytes.
+     *
+     * @param src the data to decode
+     * @param dst the buffer of the result
+     * @return the number of bytes written to dst
+     */
+    public static int decode(ByteBuffer src, ByteBuffer dst) {
+        return ENGINE.decode(src, dst);
+    }
+
+    /**
+     * Decode the Base32-encoded data in the file in and write the result to the file out.
+     * <p>
+     * Both files are memory-mapped in windows, so files larger than 2 GB are supported.
+     * out is created if it does not exist, and truncated if it does.
+     *
+     * @param in  the file to decode
+     * @param out the file of the result
+     */
+    public static void decode(Path in, Path out) throws IOException {
+        ENGINE.decode(in, out);
+    }
+
+    /**
+     * Wrap the given input stream to decode the Base32-encoded data read from it.
+     * <p>
+     * The data is decoded on demand through a block-aligned buffer.
+     * Closing the returned stream closes inputStream.
+     *
+     * @param inputStream the data stream to decode
+     * @return the input stream of the result
+     */
+    public static InputStream wrap(InputStream inputStream) {
+        return new DecodingInputStream(ENGINE, inputStream);
     }
 
     /**
@@ -120,7 +447,110 @@ public class Base32 {
      * @return a newly allocated String with the result
      */
     public static String encodeExtendedHex(byte[] input) {
-        return Encoder.encode(input, TABLE_ENCODE_EXTENDED_HEX);
+        return ENGINE_EXTENDED_HEX.encodeToString(input, false);
+    }
+
+    /**
+     * Extended Hex Base32-encode the given data on multiple threads and return a newly allocated String with the result.
+     * <p>
+     * The data is split at block boundaries and encoded on the common ForkJoinPool.
+     * Data smaller than the threshold set by the system property
+     * {@code dev.keiji.util.parallelThreshold} (1 MiB by default) is encoded on the calling thread.
+     *
+     * @param input the data to encode
+     * @return a newly allocated String with the result
+     */
+    public static String encodeExtendedHexParallel(byte[] input) {
+        return ENGINE_EXTENDED_HEX.encodeToString(input, true);
+    }
+
+    /**
+     * Extended Hex Base32-encode len bytes of src from srcOffset into dst from dstOffset.
+     * <p>
+     * dst must have room for {@link #encodedLength(int) encodedLength(len)} bytes. Nothing is allocated.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of bytes written to dst
+     */
+    public static int encodeExtendedHex(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        return ENGINE_EXTENDED_HEX.encodeInto(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Extended Hex Base32-encode len bytes of src from srcOffset into dst from dstOffset as chars.
+     * <p>
+     * dst must have room for {@link #encodedLength(int) encodedLength(len)} chars. Nothing is allocated
+     * except a small buffer per thread on the first call.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of chars written to dst
+     */
+    public static int encodeExtendedHex(byte[] src, int srcOffset, int len, char[] dst, int dstOffset) {
+        return ENGINE_EXTENDED_HEX.encodeInto(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Extended Hex Base32-encode len bytes of src from srcOffset and append the result to out.
+     * <p>
+     * The capacity of out is ensured once and the result is appended in chunks,
+     * without creating a String of the whole result.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param out       the StringBuilder to append the result to
+     * @return the number of chars appended to out
+     */
+    public static int encodeExtendedHexTo(byte[] src, int srcOffset, int len, StringBuilder out) {
+        return ENGINE_EXTENDED_HEX.encodeTo(src, srcOffset, len, out);
+    }
+
+    /**
+     * Extended Hex Base32-encode len bytes of src from srcOffset and append the result to out.
+     * <p>
+     * The result is appended in chunks, without creating a String of the whole result.
+     * A Writer takes each chunk as a char array.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param out       the Appendable to append the result to
+     * @return the number of chars appended to out
+     */
+    public static int encodeExtendedHexTo(byte[] src, int srcOffset, int len, Appendable out) throws IOException {
+        return ENGINE_EXTENDED_HEX.encodeTo(src, srcOffset, len, out);
+    }
+
+    /**
+     * Extended Hex Base32-encode the given data and return the result as ASCII characters in a new byte array.
+     * <p>
+     * No String is created, so the result can be written to a stream or a channel as it is.
+     *
+     * @param input the data to encode
+     * @return the ASCII characters of the result in a new byte array
+     */
+    public static byte[] encodeExtendedHexToBytes(byte[] input) {
+        return ENGINE_EXTENDED_HEX.encodeToBytes(input);
+    }
+
+    /**
+     * Extended Hex Base32-encode len bytes of input from offset and return the result as ASCII characters in a new byte array.
+     *
+     * @param input  the data to encode
+     * @param offset the offset of the data in input
+     * @param len    the number of bytes to encode
+     * @return the ASCII characters of the result in a new byte array
+     */
+    public static byte[] encodeExtendedHexToBytes(byte[] input, int offset, int len) {
+        return ENGINE_EXTENDED_HEX.encodeToBytes(input, offset, len);
     }
 
     /**
@@ -130,7 +560,47 @@ public class Base32 {
      * @param outputStream the output stream of the result
      */
     public static void encodeExtendedHex(InputStream inputStream, OutputStream outputStream) throws IOException {
-        Encoder.encode(inputStream, outputStream, TABLE_ENCODE_EXTENDED_HEX);
+        ENGINE_EXTENDED_HEX.encode(inputStream, outputStream);
+    }
+
+    /**
+     * Extended Hex Base32-encode the remaining bytes of src into dst.
+     * <p>
+     * See {@link #encode(ByteBuffer, ByteBuffer)} for how the buffers are consumed and filled.
+     *
+     * @param src the data to encode
+     * @param dst the buffer of the result
+     * @return the number of bytes written to dst
+     */
+    public static int encodeExtendedHex(ByteBuffer src, ByteBuffer dst) {
+        return ENGINE_EXTENDED_HEX.encode(src, dst);
+    }
+
+    /**
+     * Extended Hex Base32-encode the file in and write the result to the file out.
+     * <p>
+     * Both files are memory-mapped in windows, so files larger than 2 GB are supported.
+     * out is created if it does not exist, and truncated if it does.
+     *
+     * @param in  the file to encode
+     * @param out the file of the result
+     */
+    public static void encodeExtendedHex(Path in, Path out) throws IOException {
+        ENGINE_EXTENDED_HEX.encode(in, out);
+    }
+
+    /**
+     * Wrap the given output stream to Extended Hex Base32-encode the data written to it.
+     * <p>
+     * The data is encoded incrementally through a block-aligned buffer. {@code flush()} writes
+     * every complete block, and the last incomplete block is padded on {@code close()}.
+     * Closing the returned stream closes outputStream.
+     *
+     * @param outputStream the output stream of the result
+     * @return the output stream to write the data to encode
+     */
+    public static OutputStream wrapExtendedHex(OutputStream outputStream) {
+        return new EncodingOutputStream(ENGINE_EXTENDED_HEX, outputStream);
     }
 
     /**
@@ -140,7 +610,92 @@ public class Base32 {
      * @return the data in a new byte array
      */
     public static byte[] decodeExtendedHex(String input) {
-        return Decoder.decode(input, TABLE_DECODE_EXTENDED_HEX);
+        return ENGINE_EXTENDED_HEX.decodeChars(input, true, false);
+    }
+
+    /**
+     * Decode the Extended Hex Base32-encoded data in input and return the data in a new byte array.
+     * <p>
+     * input can be any CharSequence, such as a StringBuilder or a CharBuffer. It is read in place.
+     *
+     * @param input the data to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeExtendedHex(CharSequence input) {
+        return ENGINE_EXTENDED_HEX.decodeChars(input, true, false);
+    }
+
+    /**
+     * Decode the Extended Hex Base32-encoded data in input from start to end and return the data in a new byte array.
+     * <p>
+     * The result is the same as decoding {@code input.subSequence(start, end)}, but the range is read in place.
+     *
+     * @param input the data to decode
+     * @param start the index of the first character to decode
+     * @param end   the index after the last character to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeExtendedHex(CharSequence input, int start, int end) {
+        return ENGINE_EXTENDED_HEX.decodeChars(input, start, end, true, false);
+    }
+
+    /**
+     * Decode the Extended Hex Base32-encoded data in input on multiple threads and return the data in a new byte array.
+     * <p>
+     * The data is split at block boundaries and decoded on the common ForkJoinPool.
+     * Data smaller than the threshold set by the system property
+     * {@code dev.keiji.util.parallelThreshold} (1 MiB by default) is decoded on the calling thread.
+     * The result and the reported invalid character are the same as {@link #decodeExtendedHex(String)}.
+     * input can be any CharSequence, such as a StringBuilder or a CharBuffer. It is read in place.
+     *
+     * @param input the data to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeExtendedHexParallel(CharSequence input) {
+        return ENGINE_EXTENDED_HEX.decodeChars(input, true, true);
+    }
+
+    /**
+     * Decode len characters of the Extended Hex Base32-encoded data in src from srcOffset into dst from dstOffset.
+     * <p>
+     * dst must have room for {@link #decodedLength(CharSequence) decodedLength} of the characters.
+     * Nothing is allocated.
+     *
+     * @param src       the data to decode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of characters to decode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of bytes written to dst
+     */
+    public static int decodeExtendedHex(CharSequence src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        return ENGINE_EXTENDED_HEX.decodeInto(src, srcOffset, len, true, dst, dstOffset);
+    }
+
+    /**
+     * Decode the Extended Hex Base32-encoded ASCII characters in input and return the data in a new byte array.
+     * <p>
+     * No String is created. The data is decoded block by block as {@link #decodeExtendedHex(InputStream, OutputStream)} does.
+     *
+     * @param input the ASCII characters to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeExtendedHexFromBytes(byte[] input) {
+        return ENGINE_EXTENDED_HEX.decodeFromBytes(input, true);
+    }
+
+    /**
+     * Decode len bytes of the Extended Hex Base32-encoded ASCII characters in input from offset and return the data in a new byte array.
+     * <p>
+     * No String is created. The data is decoded block by block as {@link #decodeExtendedHex(InputStream, OutputStream)} does.
+     *
+     * @param input  the ASCII characters to decode
+     * @param offset the offset of the characters in input
+     * @param len    the number of characters to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeExtendedHexFromBytes(byte[] input, int offset, int len) {
+        return ENGINE_EXTENDED_HEX.decodeFromBytes(input, offset, len, true);
     }
 
     /**
@@ -150,213 +705,430 @@ public class Base32 {
      * @param outputStream the output stream of the result
      */
     public static void decodeExtendedHex(InputStream inputStream, OutputStream outputStream) throws IOException {
-        Decoder.decode(inputStream, outputStream, TABLE_DECODE_EXTENDED_HEX, false);
+        ENGINE_EXTENDED_HEX.decode(inputStream, outputStream);
+    }
+
+    /**
+     * Decode the Extended Hex Base32-encoded data in the remaining bytes of src into dst.
+     * <p>
+     * See {@link #decode(ByteBuffer, ByteBuffer)} for how the buffers are consumed and filled.
+     *
+     * @param src the data to decode
+     * @param dst the buffer of the result
+     * @return the number of bytes written to dst
+     */
+    public static int decodeExtendedHex(ByteBuffer src, ByteBuffer dst) {
+        return ENGINE_EXTENDED_HEX.decode(src, dst);
+    }
+
+    /**
+     * Decode the Extended Hex Base32-encoded data in the file in and write the result to the file out.
+     * <p>
+     * Both files are memory-mapped in windows, so files larger than 2 GB are supported.
+     * out is created if it does not exist, and truncated if it does.
+     *
+     * @param in  the file to decode
+     * @param out the file of the result
+     */
+    public static void decodeExtendedHex(Path in, Path out) throws IOException {
+        ENGINE_EXTENDED_HEX.decode(in, out);
+    }
+
+    /**
+     * Wrap the given input stream to decode the Extended Hex Base32-encoded data read from it.
+     * <p>
+     * The data is decoded on demand through a block-aligned buffer.
+     * Closing the returned stream closes inputStream.
+     *
+     * @param inputStream the data stream to decode
+     * @return the input stream of the result
+     */
+    public static InputStream wrapExtendedHex(InputStream inputStream) {
+        return new DecodingInputStream(ENGINE_EXTENDED_HEX, inputStream);
+    }
+
+    private static class Engine extends CodecEngine {
+        private final byte[] tableEncode;
+        private final short[] tableEncodePair;
+        private final int[] tableDecode;
+        private final int[] tableDecodeFull;
+
+        Engine(byte[] tableEncode, int[] tableDecode) {
+            super(PLAIN_DATA_BLOCK_SIZE, ENCODED_DATA_BLOCK_SIZE);
+            this.tableEncode = tableEncode;
+            this.tableEncodePair = Encoder.createPairTable(tableEncode);
+            this.tableDecode = tableDecode;
+            this.tableDecodeFull = Decoder.createFullTable(tableDecode);
+        }
+
+        @Override
+        int encode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+            return Encoder.encode(src, srcOffset, len, dst, dstOffset, tableEncode, tableEncodePair);
+        }
+
+        @Override
+        int decode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+            return Decoder.decode(src, srcOffset, len, dst, dstOffset, tableDecode, tableDecodeFull);
+        }
+
+        @Override
+        int decode(CharSequence src, int start, int end, byte[] dst, int dstOffset) {
+            return Decoder.decode(src, start, end, dst, dstOffset, tableDecode, tableDecodeFull);
+        }
+
+        @Override
+        int encode(ByteBuffer src, int srcIndex, int len, ByteBuffer dst, int dstIndex) {
+            return Encoder.encode(src, srcIndex, len, dst, dstIndex, tableEncodePair);
+        }
+
+        @Override
+        int decode(ByteBuffer src, int srcIndex, int len, ByteBuffer dst, int dstIndex) {
+            return Decoder.decode(src, srcIndex, len, dst, dstIndex, tableDecode, tableDecodeFull);
+        }
     }
 
     private static class Encoder {
         private static final int BIT_WIDTH = 5;
         private static final long BIT_MASK = 0x1F; // = 00011111
+        private static final int PAIR_BIT_MASK = 0x3FF; // = 00000011 11111111
 
-        public static String encode(byte[] input, byte[] tableEncode) {
-            if (input == null) {
-                throw new IllegalArgumentException("Input data must not be null.");
-            }
-
-            ByteArrayInputStream bais = new ByteArrayInputStream(input);
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-            try {
-                encode(bais, baos, tableEncode);
-                return baos.toString(StandardCharsets.US_ASCII.name());
-            } catch (UnsupportedEncodingException e) {
-                return baos.toString();
-            } catch (IOException e) {
-                // ByteArray[Input|Output]Stream never throws IOException
-                return null;
+        /**
+         * Create the table of the two characters that encode each 10-bit value.
+         * The first character is in the upper 8 bits.
+         */
+        private static short[] createPairTable(byte[] tableEncode) {
+            short[] tablePair = new short[1 << 10];
+            for (int i = 0; i < tablePair.length; i++) {
+                tablePair[i] = (short) (tableEncode[i >>> BIT_WIDTH] << 8 | tableEncode[(int) (i & BIT_MASK)]);
             }
+            return tablePair;
         }
 
-        private static void encode(
-                InputStream inputStream,
-                OutputStream outputStream,
-                byte[] tableEncode
-        ) throws IOException {
-            if (inputStream == null) {
-                throw new IllegalArgumentException("inputStream must be not null.");
-            }
-            if (outputStream == null) {
-                throw new IllegalArgumentException("outputStream must be not null.");
-            }
-
-            byte[] plainDataBlock = new byte[PLAIN_DATA_BLOCK_SIZE];
-            byte[] encodedDataBlock = new byte[ENCODED_DATA_BLOCK_SIZE];
+        /**
+         * Encode len bytes of src into dst including padding, and return the number of bytes written.
+         */
+        private static int encode(
+                byte[] src, int srcOffset, int len,
+                byte[] dst, int dstOffset,
+                byte[] tableEncode, short[] tablePair
+        ) {
+            int index = srcOffset;
+            int end = srcOffset + len;
+            int blockEnd = srcOffset + len / PLAIN_DATA_BLOCK_SIZE * PLAIN_DATA_BLOCK_SIZE;
+            int dstIndex = dstOffset;
 
-            int len;
-            while ((len = inputStream.read(plainDataBlock, 0, PLAIN_DATA_BLOCK_SIZE)) > 0) {
-                int resultBlockSizeInBit = len * 8;
-                int resultBlockSize = resultBlockSizeInBit / BIT_WIDTH + (resultBlockSizeInBit % BIT_WIDTH > 0 ? 1 : 0);
-                int padSize = ENCODED_DATA_BLOCK_SIZE - resultBlockSize;
+            // 40 bits of a block are four 10-bit pairs of characters.
+            // 8 bytes must be readable from a block, so the last block is read byte by byte.
+            int longEnd = end - Long.BYTES;
+            while (index < blockEnd) {
+                long value = (index <= longEnd)
+                        ? ByteArrays.getLong40(src, index)
+                        : ((src[index] & 0xFFL) << 32
+                        | (src[index + 1] & 0xFFL) << 24
+                        | (src[index + 2] & 0xFFL) << 16
+                        | (src[index + 3] & 0xFFL) << 8
+                        | (src[index + 4] & 0xFFL));
+                index += PLAIN_DATA_BLOCK_SIZE;
 
-                long value = getLongFromBlock(plainDataBlock);
+                int pair0 = tablePair[(int) (value >>> 30)];
+                int pair1 = tablePair[(int) (value >>> 20) & PAIR_BIT_MASK];
+                int pair2 = tablePair[(int) (value >>> 10) & PAIR_BIT_MASK];
+                int pair3 = tablePair[(int) value & PAIR_BIT_MASK];
 
-                encodedDataBlock[0] = tableEncode[getIndex(value, 35)];
-                encodedDataBlock[1] = tableEncode[getIndex(value, 30)];
-                encodedDataBlock[2] = tableEncode[getIndex(value, 25)];
-                encodedDataBlock[3] = tableEncode[getIndex(value, 20)];
-                encodedDataBlock[4] = tableEncode[getIndex(value, 15)];
-                encodedDataBlock[5] = tableEncode[getIndex(value, 10)];
-                encodedDataBlock[6] = tableEncode[getIndex(value, 5)];
-                encodedDataBlock[7] = tableEncode[getIndex(value, 0)];
+                ByteArrays.putShorts(dst, dstIndex, pair0, pair1, pair2, pair3);
+                dstIndex += ENCODED_DATA_BLOCK_SIZE;
+            }
 
-                outputStream.write(encodedDataBlock, 0, ENCODED_DATA_BLOCK_SIZE - padSize);
+            if (index < end) {
+                int blockLength = end - index;
 
-                for (int i = 0; i < padSize; i++) {
-                    outputStream.write((byte) PAD);
+                long value = 0;
+                for (int i = 0; i < PLAIN_DATA_BLOCK_SIZE; i++) {
+                    value <<= 8;
+                    if (i < blockLength) {
+                        value |= src[index + i] & 0xFF;
+                    }
                 }
 
-                // Clear plainDataBlock.
-                Arrays.fill(plainDataBlock, (byte) 0);
+                int resultBlockSizeInBit = blockLength * 8;
+                int resultBlockSize = resultBlockSizeInBit / BIT_WIDTH + (resultBlockSizeInBit % BIT_WIDTH > 0 ? 1 : 0);
+
+                for (int i = 0; i < resultBlockSize; i++) {
+                    int shift = (ENCODED_DATA_BLOCK_SIZE - 1 - i) * BIT_WIDTH;
+                    dst[dstIndex++] = tableEncode[(int) ((value >>> shift) & BIT_MASK)];
+                }
+                for (int i = resultBlockSize; i < ENCODED_DATA_BLOCK_SIZE; i++) {
+                    dst[dstIndex++] = (byte) PAD;
+                }
             }
-        }
 
-        private static byte getIndex(long value, int shift) {
-            return (byte) ((value & BIT_MASK << shift) >>> shift);
+            return dstIndex - dstOffset;
         }
 
-        private static long getLongFromBlock(byte[] block) {
-            return (
-                    byteToLong(block[0]) << 32)
-                    + (byteToLong(block[1]) << 24)
-                    + (byteToLong(block[2]) << 16)
-                    + (byteToLong(block[3]) << 8)
-                    + (byteToLong(block[4])
-            );
-        }
+        /**
+         * Encode the complete blocks in len bytes of src into dst, and return the number of bytes written.
+         */
+        private static int encode(
+                ByteBuffer src, int srcIndex, int len,
+                ByteBuffer dst, int dstIndex,
+                short[] tablePair
+        ) {
+            int dstStart = dstIndex;
+            int blockEnd = srcIndex + len / PLAIN_DATA_BLOCK_SIZE * PLAIN_DATA_BLOCK_SIZE;
+
+            for (int index = srcIndex; index < blockEnd; index += PLAIN_DATA_BLOCK_SIZE) {
+                long value = (src.get(index) & 0xFFL) << 32
+                        | (src.get(index + 1) & 0xFFL) << 24
+                        | (src.get(index + 2) & 0xFFL) << 16
+                        | (src.get(index + 3) & 0xFFL) << 8
+                        | (src.get(index + 4) & 0xFFL);
 
-        private static long byteToLong(byte bucketValue) {
-            return ((long) bucketValue) & 0xFF;
+                for (int i = 0; i < ENCODED_DATA_BLOCK_SIZE / 2; i++) {
+                    int pair = tablePair[(int) (value >>> (30 - i * 10)) & PAIR_BIT_MASK];
+                    dst.put(dstIndex++, (byte) (pair >>> 8));
+                    dst.put(dstIndex++, (byte) pair);
+                }
+            }
+
+            return dstIndex - dstStart;
         }
     }
 
     private static class Decoder {
 
-        public static byte[] decode(String input, int[] tableDecode) {
-            if (input == null) {
-                throw new IllegalArgumentException("Input string must not be null.");
-            }
-            if (input.length() == 0) {
-                return new byte[0];
-            }
-            if (input.length() % 8 != 0) {
-                throw new IllegalArgumentException("Input string length must be divisible by 8.");
+        /**
+         * Create the 256-entry table used for complete blocks. PAD, invalid and non-ASCII characters
+         * map to -1, so that one check of a whole block tells whether it needs the slow path.
+         */
+        private static int[] createFullTable(int[] tableDecode) {
+            int[] tableFull = new int[1 << 8];
+            Arrays.fill(tableFull, -1);
+            for (int key = 0; key < tableDecode.length; key++) {
+                if (key != PAD) {
+                    tableFull[key] = tableDecode[key];
+                }
             }
+            return tableFull;
+        }
 
-            int padSize = 0;
-            if (input.indexOf(PAD) >= 0) {
-                padSize = input.length() - input.indexOf(PAD);
-            }
+        /**
+         * Decode the characters of input in [start, end) into dst and return the number of bytes written.
+         * Decoding stops at the first PAD.
+         */
+        private static int decode(
+                CharSequence input, int start, int end,
+                byte[] dst, int dstOffset,
+                int[] tableDecode, int[] tableFull
+        ) {
+            int index = start;
+            int dstIndex = dstOffset;
+            int blockEnd = start + (end - start) / ENCODED_DATA_BLOCK_SIZE * ENCODED_DATA_BLOCK_SIZE;
 
-            String padStrippedStr = input.substring(0, input.length() - padSize);
+            while (index < blockEnd) {
+                long value = 0;
+                int check = 0;
+                for (int i = 0; i < ENCODED_DATA_BLOCK_SIZE; i++) {
+                    char key = input.charAt(index + i);
+                    int tableValue = tableFull[key & 0xFF];
 
-            ByteArrayInputStream bais = new ByteArrayInputStream(padStrippedStr.getBytes(StandardCharsets.US_ASCII));
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                    // Negative if the character is PAD or invalid, or is out of the range of the table.
+                    check |= tableValue | -(key >>> 8);
+                    value = value << 5 | tableValue;
+                }
+                if (check < 0) {
+                    // Leave it to the loop below.
+                    break;
+                }
 
-            try {
-                decode(bais, baos, tableDecode, true);
-                return baos.toByteArray();
-            } catch (IOException e) {
-                // ByteArray[Input|Output]Stream never throws IOException
-                return null;
+                dstIndex = writeBlock(value, dst, dstIndex);
+                index += ENCODED_DATA_BLOCK_SIZE;
             }
-        }
 
-        private static void decode(
-                InputStream inputStream,
-                OutputStream outputStream,
-                int[] tableDecode,
-                boolean expectPadding
-        ) throws IOException {
-            if (inputStream == null) {
-                throw new IllegalArgumentException("inputStream must be not null.");
+            long value = 0;
+            int count = 0;
+            for (; index < end; index++) {
+                char key = input.charAt(index);
+                if (key == PAD) {
+                    break;
+                }
+
+                value = value << 5 | getTableValue(tableDecode, key);
+                count++;
+
+                if (count == ENCODED_DATA_BLOCK_SIZE) {
+                    dstIndex = writeBlock(value, dst, dstIndex);
+                    value = 0;
+                    count = 0;
+                }
             }
-            if (outputStream == null) {
-                throw new IllegalArgumentException("outputStream must be not null.");
+
+            if (count > 0) {
+                // The missing characters of the last block read as 0.
+                value <<= (ENCODED_DATA_BLOCK_SIZE - count) * 5;
+
+                int resultBlockSize = count * 5 / 8;
+                for (int i = 0; i < resultBlockSize; i++) {
+                    int shift = (PLAIN_DATA_BLOCK_SIZE - 1 - i) * 8;
+                    dst[dstIndex++] = (byte) (value >>> shift);
+                }
             }
 
-            byte[] plainDataBlock = new byte[PLAIN_DATA_BLOCK_SIZE];
-            byte[] encodedDataBlock = new byte[ENCODED_DATA_BLOCK_SIZE];
+            return dstIndex - dstOffset;
+        }
+
+        /**
+         * Decode len bytes of src block by block into dst and return the number of bytes written.
+         */
+        private static int decode(
+                byte[] src, int srcOffset, int len,
+                byte[] dst, int dstOffset,
+                int[] tableDecode, int[] tableFull
+        ) {
+            int index = srcOffset;
+            int end = srcOffset + len;
+            int dstIndex = dstOffset;
+
+            while (index < end) {
+                int blockLength = Math.min(ENCODED_DATA_BLOCK_SIZE, end - index);
+
+                if (blockLength == ENCODED_DATA_BLOCK_SIZE) {
+                    long value = 0;
+                    int check = 0;
+                    for (int i = 0; i < ENCODED_DATA_BLOCK_SIZE; i++) {
+                        int tableValue = tableFull[src[index + i] & 0xFF];
+                        check |= tableValue;
+                        value = value << 5 | tableValue;
+                    }
 
-            int len;
-            while ((len = inputStream.read(encodedDataBlock, 0, ENCODED_DATA_BLOCK_SIZE)) > 0) {
-                int padSize = 0;
-                if (expectPadding) {
-                    if (encodedDataBlock[0] == PAD) {
+                    if (check >= 0) {
+                        dstIndex = writeBlock(value, dst, dstIndex);
+                        index += ENCODED_DATA_BLOCK_SIZE;
                         continue;
-                    } else if (encodedDataBlock[1] == PAD) {
-                        padSize = 7;
-                    } else if (encodedDataBlock[2] == PAD) {
-                        padSize = 6;
-                    } else if (encodedDataBlock[3] == PAD) {
-                        padSize = 5;
-                    } else if (encodedDataBlock[4] == PAD) {
-                        padSize = 4;
-                    } else if (encodedDataBlock[5] == PAD) {
-                        padSize = 3;
-                    } else if (encodedDataBlock[6] == PAD) {
-                        padSize = 2;
-                    } else if (encodedDataBlock[7] == PAD) {
-                        padSize = 1;
                     }
                 }
 
-                int resultBlockSizeInBit = (len - padSize) * 5;
-                int resultBlockSize = resultBlockSizeInBit / 8;
+                // Only a padded, incomplete or invalid block gets here, so the padding is
+                // looked for once at the tail instead of in every block.
+                dstIndex += decodeBlock(src, index, blockLength, tableDecode, dst, dstIndex);
+                index += blockLength;
+            }
 
-                long bucketValue0 = getTableValue(tableDecode, encodedDataBlock[0]);
-                long bucketValue1 = getTableValue(tableDecode, encodedDataBlock[1]);
-                long bucketValue2 = getTableValue(tableDecode, encodedDataBlock[2]);
-                long bucketValue3 = getTableValue(tableDecode, encodedDataBlock[3]);
-                long bucketValue4 = getTableValue(tableDecode, encodedDataBlock[4]);
-                long bucketValue5 = getTableValue(tableDecode, encodedDataBlock[5]);
-                long bucketValue6 = getTableValue(tableDecode, encodedDataBlock[6]);
-                long bucketValue7 = getTableValue(tableDecode, encodedDataBlock[7]);
+            return dstIndex - dstOffset;
+        }
 
-                long value = (bucketValue0 << 35)
-                        + (bucketValue1 << 30)
-                        + (bucketValue2 << 25)
-                        + (bucketValue3 << 20)
-                        + (bucketValue4 << 15)
-                        + (bucketValue5 << 10)
-                        + (bucketValue6 << 5)
-                        + (bucketValue7);
+        /**
+         * Decode the complete blocks in len bytes of src block by block into dst,
+         * and return the number of bytes written.
+         */
+        private static int decode(
+                ByteBuffer src, int srcIndex, int len,
+                ByteBuffer dst, int dstIndex,
+                int[] tableDecode, int[] tableFull
+        ) {
+            int dstStart = dstIndex;
+            int blockEnd = srcIndex + len / ENCODED_DATA_BLOCK_SIZE * ENCODED_DATA_BLOCK_SIZE;
 
-                convertToBlock(value, plainDataBlock);
+            byte[] block = null;
+            byte[] blockDecoded = null;
+            for (int index = srcIndex; index < blockEnd; index += ENCODED_DATA_BLOCK_SIZE) {
+                long value = 0;
+                int check = 0;
+                for (int i = 0; i < ENCODED_DATA_BLOCK_SIZE; i++) {
+                    int tableValue = tableFull[src.get(index + i) & 0xFF];
+                    check |= tableValue;
+                    value = value << 5 | tableValue;
+                }
 
-                outputStream.write(plainDataBlock, 0, resultBlockSize);
+                if (check >= 0) {
+                    for (int i = 0; i < PLAIN_DATA_BLOCK_SIZE; i++) {
+                        int shift = (PLAIN_DATA_BLOCK_SIZE - 1 - i) * 8;
+                        dst.put(dstIndex++, (byte) (value >>> shift));
+                    }
+                    continue;
+                }
 
-                Arrays.fill(encodedDataBlock, (byte) 0);
+                if (block == null) {
+                    block = new byte[ENCODED_DATA_BLOCK_SIZE];
+                    blockDecoded = new byte[PLAIN_DATA_BLOCK_SIZE];
+                }
+                for (int i = 0; i < ENCODED_DATA_BLOCK_SIZE; i++) {
+                    block[i] = src.get(index + i);
+                }
+                int resultBlockSize = decodeBlock(block, 0, ENCODED_DATA_BLOCK_SIZE, tableDecode, blockDecoded, 0);
+                for (int i = 0; i < resultBlockSize; i++) {
+                    dst.put(dstIndex++, blockDecoded[i]);
+                }
             }
+
+            return dstIndex - dstStart;
         }
 
-        private static long getTableValue(int[] tableDecode, byte value) {
-            if (value <= 0) {
+        private static int writeBlock(long value, byte[] dst, int dstIndex) {
+            dst[dstIndex] = (byte) (value >>> 32);
+            dst[dstIndex + 1] = (byte) (value >>> 24);
+            dst[dstIndex + 2] = (byte) (value >>> 16);
+            dst[dstIndex + 3] = (byte) (value >>> 8);
+            dst[dstIndex + 4] = (byte) value;
+            return dstIndex + PLAIN_DATA_BLOCK_SIZE;
+        }
+
+        /**
+         * Decode a block of blockLength bytes that contains PAD or an invalid character, or is incomplete,
+         * into dst and return the number of bytes written.
+         * <p>
+         * A block that starts with PAD is skipped. Otherwise the first PAD determines the size of
+         * the result, and missing characters read as 0.
+         */
+        private static int decodeBlock(
+                byte[] src, int index, int blockLength,
+                int[] tableDecode,
+                byte[] dst, int dstOffset
+        ) {
+            int padSize = 0;
+            if (src[index] == PAD) {
                 return 0;
             }
+            for (int i = 1; i < blockLength; i++) {
+                if (src[index + i] == PAD) {
+                    padSize = ENCODED_DATA_BLOCK_SIZE - i;
+                    break;
+                }
+            }
 
-            char key = (char) value;
-            int tableValue = tableDecode[key];
-            if (tableValue < 0) {
+            long value = 0;
+            for (int i = 0; i < ENCODED_DATA_BLOCK_SIZE; i++) {
+                value <<= 5;
+                if (i < blockLength) {
+                    value |= getTableValue(tableDecode, src[index + i]);
+                }
+            }
+
+            int resultBlockSizeInBit = (blockLength - padSize) * 5;
+            int resultBlockSize = resultBlockSizeInBit / 8;
+
+            int dstIndex = dstOffset;
+            for (int i = 0; i < resultBlockSize; i++) {
+                int shift = (PLAIN_DATA_BLOCK_SIZE - 1 - i) * 8;
+                dst[dstIndex++] = (byte) (value >>> shift);
+            }
+            return dstIndex - dstOffset;
+        }
+
+        private static long getTableValue(int[] tableDecode, char key) {
+            if (key >= tableDecode.length || tableDecode[key] < 0) {
                 throw new IllegalArgumentException(String.format("Invalid character %c detected.", key));
             }
-            return tableValue;
+            return tableDecode[key];
         }
 
-        private static void convertToBlock(long value, byte[] block) {
-            block[0] = (byte) ((value & (0XFFL << 32)) >>> 32);
-            block[1] = (byte) ((value & (0XFFL << 24)) >>> 24);
-            block[2] = (byte) ((value & (0XFFL << 16)) >>> 16);
-            block[3] = (byte) ((value & (0XFFL << 8)) >>> 8);
-            block[4] = (byte) ((value & 0XFF));
+        private static long getTableValue(int[] tableDecode, byte value) {
+            // Non-ASCII bytes are negative.
+            char key = (char) (value & 0xFF);
+            int tableValue = (value >= 0) ? tableDecode[key] : -1;
+            if (tableValue < 0) {
+                throw new IllegalArgumentException(String.format("Invalid character %c detected.", key));
+            }
+            return tableValue;
         }
     }
 }
@@ -16,15 +16,12 @@
 
 package dev.keiji.util;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InvalidObjectException;
 import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
-import java.nio.charset.StandardCharsets;
-import java.security.InvalidParameterException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 /**
@@ -78,9 +75,36 @@ public class Base64 {
             TABLE_DECODE[TABLE_ENCODE[i]] = i;
             TABLE_DECODE_URL_SAFE[TABLE_ENCODE_URL_SAFE[i]] = i;
         }
+    }
+
+    private static final CodecEngine ENGINE = CodecEngines.base64(
+            new Engine(TABLE_ENCODE, TABLE_DECODE), TABLE_ENCODE);
+    private static final CodecEngine ENGINE_URL_SAFE = CodecEngines.base64(
+            new Engine(TABLE_ENCODE_URL_SAFE, TABLE_DECODE_URL_SAFE), TABLE_ENCODE_URL_SAFE);
+
+    private static final Codec STANDARD = new Codec("Base64", ENGINE, true);
+    private static final Codec URL_SAFE = new Codec("Base64 url and filename safe", ENGINE_URL_SAFE, false);
+
+    /**
+     * Return the shared codec of the Base64 alphabet.
+     * <p>
+     * The codec does what the static methods of this class do. Decoding requires padding.
+     *
+     * @return the codec of the Base64 alphabet
+     */
+    public static Codec standard() {
+        return STANDARD;
+    }
 
-        TABLE_DECODE[PAD] = 0;
-        TABLE_DECODE_URL_SAFE[PAD] = 0;
+    /**
+     * Return the shared codec of the Base64 url and filename safe alphabet.
+     * <p>
+     * The codec does what the UrlSafe static methods of this class do. Decoding accepts data without padding.
+     *
+     * @return the codec of the Base64 url and filename safe alphabet
+     */
+    public static Codec urlSafe() {
+        return URL_SAFE;
     }
 
     /**
@@ -90,7 +114,120 @@ public class Base64 {
      * @return a newly allocated String with the result
      */
     public static String encode(byte[] input) {
-        return Encoder.encode(input, TABLE_ENCODE);
+        return ENGINE.encodeToString(input, false);
+    }
+
+    /**
+     * Base64-encode the given data on multiple threads and return a newly allocated String with the result.
+     * <p>
+     * The data is split at block boundaries and encoded on the common ForkJoinPool.
+     * Data smaller than the threshold set by the system property
+     * {@code dev.keiji.util.parallelThreshold} (1 MiB by default) is encoded on the calling thread.
+     *
+     * @param input the data to encode
+     * @return a newly allocated String with the result
+     */
+    public static String encodeParallel(byte[] input) {
+        return ENGINE.encodeToString(input, true);
+    }
+
+    /**
+     * Return the length of the Base64-encoded data of inputLength bytes including padding. The length is the same for both alphabets.
+     *
+     * @param inputLength the number of bytes to encode
+     * @return the number of characters of the result
+     */
+    public static int encodedLength(int inputLength) {
+        return ENGINE.encodedLength(inputLength);
+    }
+
+    /**
+     * Base64-encode len bytes of src from srcOffset into dst from dstOffset.
+     * <p>
+     * dst must have room for {@link #encodedLength(int) encodedLength(len)} bytes. Nothing is allocated.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of bytes written to dst
+     */
+    public static int encode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        return ENGINE.encodeInto(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Base64-encode len bytes of src from srcOffset into dst from dstOffset as chars.
+     * <p>
+     * dst must have room for {@link #encodedLength(int) encodedLength(len)} chars. Nothing is allocated
+     * except a small buffer per thread on the first call.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of chars written to dst
+     */
+    public static int encode(byte[] src, int srcOffset, int len, char[] dst, int dstOffset) {
+        return ENGINE.encodeInto(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Base64-encode len bytes of src from srcOffset and append the result to out.
+     * <p>
+     * The capacity of out is ensured once and the result is appended in chunks,
+     * without creating a String of the whole result.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param out       the StringBuilder to append the result to
+     * @return the number of chars appended to out
+     */
+    public static int encodeTo(byte[] src, int srcOffset, int len, StringBuilder out) {
+        return ENGINE.encodeTo(src, srcOffset, len, out);
+    }
+
+    /**
+     * Base64-encode len bytes of src from srcOffset and append the result to out.
+     * <p>
+     * The result is appended in chunks, without creating a String of the whole result.
+     * A Writer takes each chunk as a char array.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param out       the Appendable to append the result to
+     * @return the number of chars appended to out
+     */
+    public static int encodeTo(byte[] src, int srcOffset, int len, Appendable out) throws IOException {
+        return ENGINE.encodeTo(src, srcOffset, len, out);
+    }
+
+    /**
+     * Base64-encode the given data and return the result as ASCII characters in a new byte array.
+     * <p>
+     * No String is created, so the result can be written to a stream or a channel as it is.
+     *
+     * @param input the data to encode
+     * @return the ASCII characters of the result in a new byte array
+     */
+    public static byte[] encodeToBytes(byte[] input) {
+        return ENGINE.encodeToBytes(input);
+    }
+
+    /**
+     * Base64-encode len bytes of input from offset and return the result as ASCII characters in a new byte array.
+     *
+     * @param input  the data to encode
+     * @param offset the offset of the data in input
+     * @param len    the number of bytes to encode
+     * @return the ASCII characters of the result in a new byte array
+     */
+    public static byte[] encodeToBytes(byte[] input, int offset, int len) {
+        return ENGINE.encodeToBytes(input, offset, len);
     }
 
     /**
@@ -100,7 +237,50 @@ public class Base64 {
      * @param outputStream the output stream of the result
      */
     public static void encode(InputStream inputStream, OutputStream outputStream) throws IOException {
-        Encoder.encode(inputStream, outputStream, TABLE_ENCODE);
+        ENGINE.encode(inputStream, outputStream);
+    }
+
+    /**
+     * Base64-encode the remaining bytes of src into dst.
+     * <p>
+     * The remaining bytes of src are the whole data, so the last incomplete block is padded.
+     * Encoding stops at a block boundary when dst is full. The positions of both buffers are
+     * advanced past the consumed and produced bytes, so the call can be repeated with more space
+     * in dst until src has no remaining bytes.
+     *
+     * @param src the data to encode
+     * @param dst the buffer of the result
+     * @return the number of bytes written to dst
+     */
+    public static int encode(ByteBuffer src, ByteBuffer dst) {
+        return ENGINE.encode(src, dst);
+    }
+
+    /**
+     * Base64-encode the file in and write the result to the file out.
+     * <p>
+     * Both files are memory-mapped in windows, so files larger than 2 GB are supported.
+     * out is created if it does not exist, and truncated if it does.
+     *
+     * @param in  the file to encode
+     * @param out the file of the result
+     */
+    public static void encode(Path in, Path out) throws IOException {
+        ENGINE.encode(in, out);
+    }
+
+    /**
+     * Wrap the given output stream to Base64-encode the data written to it.
+     * <p>
+     * The data is encoded incrementally through a block-aligned buffer. {@code flush()} writes
+     * every complete block, and the last incomplete block is padded on {@code close()}.
+     * Closing the returned stream closes outputStream.
+     *
+     * @param outputStream the output stream of the result
+     * @return the output stream to write the data to encode
+     */
+    public static OutputStream wrap(OutputStream outputStream) {
+        return new EncodingOutputStream(ENGINE, outputStream);
     }
 
     /**
@@ -110,7 +290,110 @@ public class Base64 {
      * @return a newly allocated String with the result
      */
     public static String encodeUrlSafe(byte[] input) {
-        return Encoder.encode(input, TABLE_ENCODE_URL_SAFE);
+        return ENGINE_URL_SAFE.encodeToString(input, false);
+    }
+
+    /**
+     * Base64 url and filename safe encode the given data on multiple threads and return a newly allocated String with the result.
+     * <p>
+     * The data is split at block boundaries and encoded on the common ForkJoinPool.
+     * Data smaller than the threshold set by the system property
+     * {@code dev.keiji.util.parallelThreshold} (1 MiB by default) is encoded on the calling thread.
+     *
+     * @param input the data to encode
+     * @return a newly allocated String with the result
+     */
+    public static String encodeUrlSafeParallel(byte[] input) {
+        return ENGINE_URL_SAFE.encodeToString(input, true);
+    }
+
+    /**
+     * Base64 url and filename safe encode len bytes of src from srcOffset into dst from dstOffset.
+     * <p>
+     * dst must have room for {@link #encodedLength(int) encodedLength(len)} bytes. Nothing is allocated.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of bytes written to dst
+     */
+    public static int encodeUrlSafe(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        return ENGINE_URL_SAFE.encodeInto(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Base64 url and filename safe encode len bytes of src from srcOffset into dst from dstOffset as chars.
+     * <p>
+     * dst must have room for {@link #encodedLength(int) encodedLength(len)} chars. Nothing is allocated
+     * except a small buffer per thread on the first call.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of chars written to dst
+     */
+    public static int encodeUrlSafe(byte[] src, int srcOffset, int len, char[] dst, int dstOffset) {
+        return ENGINE_URL_SAFE.encodeInto(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Base64 url and filename safe encode len bytes of src from srcOffset and append the result to out.
+     * <p>
+     * The capacity of out is ensured once and the result is appended in chunks,
+     * without creating a String of the whole result.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param out       the StringBuilder to append the result to
+     * @return the number of chars appended to out
+     */
+    public static int encodeUrlSafeTo(byte[] src, int srcOffset, int len, StringBuilder out) {
+        return ENGINE_URL_SAFE.encodeTo(src, srcOffset, len, out);
+    }
+
+    /**
+     * Base64 url and filename safe encode len bytes of src from srcOffset and append the result to out.
+     * <p>
+     * The result is appended in chunks, without creating a String of the whole result.
+     * A Writer takes each chunk as a char array.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param out       the Appendable to append the result to
+     * @return the number of chars appended to out
+     */
+    public static int encodeUrlSafeTo(byte[] src, int srcOffset, int len, Appendable out) throws IOException {
+        return ENGINE_URL_SAFE.encodeTo(src, srcOffset, len, out);
+    }
+
+    /**
+     * Base64 url and filename safe encode the given data and return the result as ASCII characters in a new byte array.
+     * <p>
+     * No String is created, so the result can be written to a stream or a channel as it is.
+     *
+     * @param input the data to encode
+     * @return the ASCII characters of the result in a new byte array
+     */
+    public static byte[] encodeUrlSafeToBytes(byte[] input) {
+        return ENGINE_URL_SAFE.encodeToBytes(input);
+    }
+
+    /**
+     * Base64 url and filename safe encode len bytes of input from offset and return the result as ASCII characters in a new byte array.
+     *
+     * @param input  the data to encode
+     * @param offset the offset of the data in input
+     * @param len    the number of bytes to encode
+     * @return the ASCII characters of the result in a new byte array
+     */
+    public static byte[] encodeUrlSafeToBytes(byte[] input, int offset, int len) {
+        return ENGINE_URL_SAFE.encodeToBytes(input, offset, len);
     }
 
     /**
@@ -120,7 +403,47 @@ public class Base64 {
      * @param outputStream the output stream of the result
      */
     public static void encodeUrlSafe(InputStream inputStream, OutputStream outputStream) throws IOException {
-        Encoder.encode(inputStream, outputStream, TABLE_ENCODE_URL_SAFE);
+        ENGINE_URL_SAFE.encode(inputStream, outputStream);
+    }
+
+    /**
+     * Base64 url and filename safe encode the remaining bytes of src into dst.
+     * <p>
+     * See {@link #encode(ByteBuffer, ByteBuffer)} for how the buffers are consumed and filled.
+     *
+     * @param src the data to encode
+     * @param dst the buffer of the result
+     * @return the number of bytes written to dst
+     */
+    public static int encodeUrlSafe(ByteBuffer src, ByteBuffer dst) {
+        return ENGINE_URL_SAFE.encode(src, dst);
+    }
+
+    /**
+     * Base64 url and filename safe encode the file in and write the result to the file out.
+     * <p>
+     * Both files are memory-mapped in windows, so files larger than 2 GB are supported.
+     * out is created if it does not exist, and truncated if it does.
+     *
+     * @param in  the file to encode
+     * @param out the file of the result
+     */
+    public static void encodeUrlSafe(Path in, Path out) throws IOException {
+        ENGINE_URL_SAFE.encode(in, out);
+    }
+
+    /**
+     * Wrap the given output stream to Base64 url and filename safe encode the data written to it.
+     * <p>
+     * The data is encoded incrementally through a block-aligned buffer. {@code flush()} writes
+     * every complete block, and the last incomplete block is padded on {@code close()}.
+     * Closing the returned stream closes outputStream.
+     *
+     * @param outputStream the output stream of the result
+     * @return the output stream to write the data to encode
+     */
+    public static OutputStream wrapUrlSafe(OutputStream outputStream) {
+        return new EncodingOutputStream(ENGINE_URL_SAFE, outputStream);
     }
 
     /**
@@ -130,7 +453,109 @@ public class Base64 {
      * @return the data in a new byte array
      */
     public static byte[] decode(String input) {
-        return Decoder.decode(input, TABLE_DECODE, true);
+        return ENGINE.decodeChars(input, true, false);
+    }
+
+    /**
+     * Decode the Base64-encoded data in input and return the data in a new byte array.
+     * <p>
+     * input can be any CharSequence, such as a StringBuilder or a CharBuffer. It is read in place.
+     *
+     * @param input the data to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decode(CharSequence input) {
+        return ENGINE.decodeChars(input, true, false);
+    }
+
+    /**
+     * Decode the Base64-encoded data in input from start to end and return the data in a new byte array.
+     * <p>
+     * The result is the same as decoding {@code input.subSequence(start, end)}, but the range is read in place.
+     *
+     * @param input the data to decode
+     * @param start the index of the first character to decode
+     * @param end   the index after the last character to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decode(CharSequence input, int start, int end) {
+        return ENGINE.decodeChars(input, start, end, true, false);
+    }
+
+    /**
+     * Decode the Base64-encoded data in input on multiple threads and return the data in a new byte array.
+     * <p>
+     * The data is split at block boundaries and decoded on the common ForkJoinPool.
+     * Data smaller than the threshold set by the system property
+     * {@code dev.keiji.util.parallelThreshold} (1 MiB by default) is decoded on the calling thread.
+     * The result and the reported invalid character are the same as {@link #decode(String)}.
+     * input can be any CharSequence, such as a StringBuilder or a CharBuffer. It is read in place.
+     *
+     * @param input the data to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeParallel(CharSequence input) {
+        return ENGINE.decodeChars(input, true, true);
+    }
+
+    /**
+     * Return the length of the data decoded from the Base64-encoded input.
+     * <p>
+     * Trailing PADs are not counted, so the result is exact for both alphabets
+     * unless a PAD in the middle of the input ends the data early.
+     * The length of input is not validated; decoding reports an invalid length.
+     *
+     * @param input the data to decode
+     * @return the number of bytes of the result
+     */
+    public static int decodedLength(CharSequence input) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input string must not be null.");
+        }
+        return ENGINE.decodedLength(input, 0, input.length());
+    }
+
+    /**
+     * Decode len characters of the Base64-encoded data in src from srcOffset into dst from dstOffset.
+     * <p>
+     * dst must have room for {@link #decodedLength(CharSequence) decodedLength} of the characters.
+     * Nothing is allocated.
+     *
+     * @param src       the data to decode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of characters to decode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of bytes written to dst
+     */
+    public static int decode(CharSequence src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        return ENGINE.decodeInto(src, srcOffset, len, true, dst, dstOffset);
+    }
+
+    /**
+     * Decode the Base64-encoded ASCII characters in input and return the data in a new byte array.
+     * <p>
+     * No String is created. The data is decoded block by block as {@link #decode(InputStream, OutputStream)} does.
+     *
+     * @param input the ASCII characters to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeFromBytes(byte[] input) {
+        return ENGINE.decodeFromBytes(input, true);
+    }
+
+    /**
+     * Decode len bytes of the Base64-encoded ASCII characters in input from offset and return the data in a new byte array.
+     * <p>
+     * No String is created. The data is decoded block by block as {@link #decode(InputStream, OutputStream)} does.
+     *
+     * @param input  the ASCII characters to decode
+     * @param offset the offset of the characters in input
+     * @param len    the number of characters to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeFromBytes(byte[] input, int offset, int len) {
+        return ENGINE.decodeFromBytes(input, offset, len, true);
     }
 
     /**
@@ -140,7 +565,48 @@ public class Base64 {
      * @param outputStream the output stream of the result
      */
     public static void decode(InputStream inputStream, OutputStream outputStream) throws IOException {
-        Decoder.decode(inputStream, outputStream, TABLE_DECODE, true);
+        ENGINE.decode(inputStream, outputStream);
+    }
+
+    /**
+     * Decode the Base64-encoded data in the remaining bytes of src into dst.
+     * <p>
+     * Decoding stops at a block boundary when dst is full. The positions of both buffers are
+     * advanced past the consumed and produced bytes, so the call can be repeated with more space
+     * in dst until src has no remaining bytes.
+     *
+     * @param src the data to decode
+     * @param dst the buffer of the result
+     * @return the number of bytes written to dst
+     */
+    public static int decode(ByteBuffer src, ByteBuffer dst) {
+        return ENGINE.decode(src, dst);
+    }
+
+    /**
+     * Decode the Base64-encoded data in the file in and write the result to the file out.
+     * <p>
+     * Both files are memory-mapped in windows, so files larger than 2 GB are supported.
+     * out is created if it does not exist, and truncated if it does.
+     *
+     * @param in  the file to decode
+     * @param out the file of the result
+     */
+    public static void decode(Path in, Path out) throws IOException {
+        ENGINE.decode(in, out);
+    }
+
+    /**
+     * Wrap the given input stream to decode the Base64-encoded data read from it.
+     * <p>
+     * The data is decoded on demand through a block-aligned buffer.
+     * Closing the returned stream closes inputStream.
+     *
+     * @param inputStream the data stream to decode
+     * @return the input stream of the result
+     */
+    public static InputStream wrap(InputStream inputStream) {
+        return new DecodingInputStream(ENGINE, inputStream);
     }
 
     /**
@@ -150,7 +616,92 @@ public class Base64 {
      * @return the data in a new byte array
      */
     public static byte[] decodeUrlSafe(String input) {
-        return Decoder.decode(input, TABLE_DECODE_URL_SAFE, false);
+        return ENGINE_URL_SAFE.decodeChars(input, false, false);
+    }
+
+    /**
+     * Decode the Base64 url and filename safe encoded data in input and return the data in a new byte array.
+     * <p>
+     * input can be any CharSequence, such as a StringBuilder or a CharBuffer. It is read in place.
+     *
+     * @param input the data to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeUrlSafe(CharSequence input) {
+        return ENGINE_URL_SAFE.decodeChars(input, false, false);
+    }
+
+    /**
+     * Decode the Base64 url and filename safe encoded data in input from start to end and return the data in a new byte array.
+     * <p>
+     * The result is the same as decoding {@code input.subSequence(start, end)}, but the range is read in place.
+     *
+     * @param input the data to decode
+     * @param start the index of the first character to decode
+     * @param end   the index after the last character to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeUrlSafe(CharSequence input, int start, int end) {
+        return ENGINE_URL_SAFE.decodeChars(input, start, end, false, false);
+    }
+
+    /**
+     * Decode the Base64 url and filename safe encoded data in input on multiple threads and return the data in a new byte array.
+     * <p>
+     * The data is split at block boundaries and decoded on the common ForkJoinPool.
+     * Data smaller than the threshold set by the system property
+     * {@code dev.keiji.util.parallelThreshold} (1 MiB by default) is decoded on the calling thread.
+     * The result and the reported invalid character are the same as {@link #decodeUrlSafe(String)}.
+     * input can be any CharSequence, such as a StringBuilder or a CharBuffer. It is read in place.
+     *
+     * @param input the data to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeUrlSafeParallel(CharSequence input) {
+        return ENGINE_URL_SAFE.decodeChars(input, false, true);
+    }
+
+    /**
+     * Decode len characters of the Base64 url and filename safe encoded data in src from srcOffset into dst from dstOffset.
+     * <p>
+     * dst must have room for {@link #decodedLength(CharSequence) decodedLength} of the characters.
+     * Nothing is allocated.
+     *
+     * @param src       the data to decode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of characters to decode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of bytes written to dst
+     */
+    public static int decodeUrlSafe(CharSequence src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        return ENGINE_URL_SAFE.decodeInto(src, srcOffset, len, false, dst, dstOffset);
+    }
+
+    /**
+     * Decode the Base64 url and filename safe encoded ASCII characters in input and return the data in a new byte array.
+     * <p>
+     * No String is created. The data is decoded block by block as {@link #decodeUrlSafe(InputStream, OutputStream)} does.
+     *
+     * @param input the ASCII characters to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeUrlSafeFromBytes(byte[] input) {
+        return ENGINE_URL_SAFE.decodeFromBytes(input, false);
+    }
+
+    /**
+     * Decode len bytes of the Base64 url and filename safe encoded ASCII characters in input from offset and return the data in a new byte array.
+     * <p>
+     * No String is created. The data is decoded block by block as {@link #decodeUrlSafe(InputStream, OutputStream)} does.
+     *
+     * @param input  the ASCII characters to decode
+     * @param offset the offset of the characters in input
+     * @param len    the number of characters to decode
+     * @return the data in a new byte array
+     */
+    public static byte[] decodeUrlSafeFromBytes(byte[] input, int offset, int len) {
+        return ENGINE_URL_SAFE.decodeFromBytes(input, offset, len, false);
     }
 
     /**
@@ -160,184 +711,459 @@ public class Base64 {
      * @param outputStream the output stream of the result
      */
     public static void decodeUrlSafe(InputStream inputStream, OutputStream outputStream) throws IOException {
-        Decoder.decode(inputStream, outputStream, TABLE_DECODE_URL_SAFE, false);
+        ENGINE_URL_SAFE.decode(inputStream, outputStream);
+    }
+
+    /**
+     * Decode the Base64 url and filename safe encoded data in the remaining bytes of src into dst.
+     * <p>
+     * See {@link #decode(ByteBuffer, ByteBuffer)} for how the buffers are consumed and filled.
+     *
+     * @param src the data to decode
+     * @param dst the buffer of the result
+     * @return the number of bytes written to dst
+     */
+    public static int decodeUrlSafe(ByteBuffer src, ByteBuffer dst) {
+        return ENGINE_URL_SAFE.decode(src, dst);
+    }
+
+    /**
+     * Decode the Base64 url and filename safe encoded data in the file in and write the result to the file out.
+     * <p>
+     * Both files are memory-mapped in windows, so files larger than 2 GB are supported.
+     * out is created if it does not exist, and truncated if it does.
+     *
+     * @param in  the file to decode
+     * @param out the file of the result
+     */
+    public static void decodeUrlSafe(Path in, Path out) throws IOException {
+        ENGINE_URL_SAFE.decode(in, out);
+    }
+
+    /**
+     * Wrap the given input stream to decode the Base64 url and filename safe encoded data read from it.
+     * <p>
+     * The data is decoded on demand through a block-aligned buffer.
+     * Closing the returned stream closes inputStream.
+     *
+     * @param inputStream the data stream to decode
+     * @return the input stream of the result
+     */
+    public static InputStream wrapUrlSafe(InputStream inputStream) {
+        return new DecodingInputStream(ENGINE_URL_SAFE, inputStream);
+    }
+
+    private static class Engine extends CodecEngine {
+        private final byte[] tableEncode;
+        private final short[] tableEncodePair;
+        private final int[] tableDecode;
+        private final int[][] tableDecodeShifted;
+
+        Engine(byte[] tableEncode, int[] tableDecode) {
+            super(PLAIN_DATA_BLOCK_SIZE, ENCODED_DATA_BLOCK_SIZE);
+            this.tableEncode = tableEncode;
+            this.tableEncodePair = Encoder.createPairTable(tableEncode);
+            this.tableDecode = tableDecode;
+            this.tableDecodeShifted = Decoder.createShiftedTables(tableDecode);
+        }
+
+        @Override
+        int encode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+            return Encoder.encode(src, srcOffset, len, dst, dstOffset, tableEncode, tableEncodePair);
+        }
+
+        @Override
+        int decode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+            return Decoder.decode(src, srcOffset, len, dst, dstOffset, tableDecode, tableDecodeShifted);
+        }
+
+        @Override
+        int decode(CharSequence src, int start, int end, byte[] dst, int dstOffset) {
+            return Decoder.decode(src, start, end, dst, dstOffset, tableDecode, tableDecodeShifted);
+        }
+
+        @Override
+        int encode(ByteBuffer src, int srcIndex, int len, ByteBuffer dst, int dstIndex) {
+            return Encoder.encode(src, srcIndex, len, dst, dstIndex, tableEncodePair);
+        }
+
+        @Override
+        int decode(ByteBuffer src, int srcIndex, int len, ByteBuffer dst, int dstIndex) {
+            return Decoder.decode(src, srcIndex, len, dst, dstIndex, tableDecode, tableDecodeShifted);
+        }
     }
 
     private static class Encoder {
         private static final int BIT_MASK = 0x3F; // = 00111111
+        private static final int PAIR_BIT_MASK = 0xFFF; // = 00001111 11111111
 
-        public static String encode(byte[] input, byte[] tableEncode) {
-            if (input == null) {
-                throw new IllegalArgumentException("Input data must not be null.");
-            }
-
-            ByteArrayInputStream bais = new ByteArrayInputStream(input);
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-            try {
-                encode(bais, baos, tableEncode);
-                return baos.toString(StandardCharsets.US_ASCII.name());
-            } catch (UnsupportedEncodingException e) {
-                return baos.toString();
-            } catch (IOException e) {
-                // ByteArray[Input|Output]Stream never throws IOException
-                return null;
+        /**
+         * Create the table of the two characters that encode each 12-bit value.
+         * The first character is in the upper 8 bits.
+         */
+        private static short[] createPairTable(byte[] tableEncode) {
+            short[] tablePair = new short[1 << 12];
+            for (int i = 0; i < tablePair.length; i++) {
+                tablePair[i] = (short) (tableEncode[i >>> 6] << 8 | tableEncode[i & BIT_MASK]);
             }
+            return tablePair;
         }
 
-        private static void encode(
-                InputStream inputStream,
-                OutputStream outputStream,
-                byte[] tableEncode
-        ) throws IOException {
-            if (inputStream == null) {
-                throw new InvalidParameterException("inputStream must not be null.");
-            }
-            if (outputStream == null) {
-                throw new InvalidParameterException("outputStream must not be null.");
-            }
+        /**
+         * Encode len bytes of src into dst including padding, and return the number of bytes written.
+         */
+        private static int encode(
+                byte[] src, int srcOffset, int len,
+                byte[] dst, int dstOffset,
+                byte[] tableEncode, short[] tablePair
+        ) {
+            int srcIndex = srcOffset;
+            int dstIndex = dstOffset;
+            int blockEnd = srcOffset + len / PLAIN_DATA_BLOCK_SIZE * PLAIN_DATA_BLOCK_SIZE;
+
+            // Two blocks at a time: 48 bits are four 12-bit pairs of characters.
+            // 8 bytes must be readable from a double block, so the last blocks are left to the loop below.
+            int doubleBlockEnd = blockEnd - PLAIN_DATA_BLOCK_SIZE;
+            int longEnd = srcOffset + len - Long.BYTES;
+            while (srcIndex < doubleBlockEnd && srcIndex <= longEnd) {
+                long value = ByteArrays.getLong48(src, srcIndex);
+                srcIndex += PLAIN_DATA_BLOCK_SIZE * 2;
 
-            byte[] plainDataBlock = new byte[PLAIN_DATA_BLOCK_SIZE];
-            byte[] encodedDataBlock = new byte[ENCODED_DATA_BLOCK_SIZE];
+                int pair0 = tablePair[(int) (value >>> 36)];
+                int pair1 = tablePair[(int) (value >>> 24) & PAIR_BIT_MASK];
+                int pair2 = tablePair[(int) (value >>> 12) & PAIR_BIT_MASK];
+                int pair3 = tablePair[(int) value & PAIR_BIT_MASK];
 
-            int len;
-            while ((len = inputStream.read(plainDataBlock, 0, PLAIN_DATA_BLOCK_SIZE)) > 0) {
-                int padSize = PLAIN_DATA_BLOCK_SIZE - len;
+                ByteArrays.putShorts(dst, dstIndex, pair0, pair1, pair2, pair3);
+                dstIndex += ENCODED_DATA_BLOCK_SIZE * 2;
+            }
 
-                int value = getIntFromBlock(plainDataBlock);
+            while (srcIndex < blockEnd) {
+                int value = (src[srcIndex++] & 0xFF) << 16
+                        | (src[srcIndex++] & 0xFF) << 8
+                        | (src[srcIndex++] & 0xFF);
 
-                encodedDataBlock[0] = tableEncode[getIndex(value, 18)];
-                encodedDataBlock[1] = tableEncode[getIndex(value, 12)];
-                encodedDataBlock[2] = tableEncode[getIndex(value, 6)];
-                encodedDataBlock[3] = tableEncode[getIndex(value, 0)];
+                int pair0 = tablePair[value >>> 12];
+                int pair1 = tablePair[value & PAIR_BIT_MASK];
 
-                outputStream.write(encodedDataBlock, 0, ENCODED_DATA_BLOCK_SIZE - padSize);
+                dst[dstIndex++] = (byte) (pair0 >>> 8);
+                dst[dstIndex++] = (byte) pair0;
+                dst[dstIndex++] = (byte) (pair1 >>> 8);
+                dst[dstIndex++] = (byte) pair1;
+            }
 
-                for (int i = 0; i < padSize; i++) {
-                    outputStream.write((byte) PAD);
-                }
+            int remaining = srcOffset + len - srcIndex;
+            if (remaining == 1) {
+                int value = (src[srcIndex] & 0xFF) << 16;
 
-                // Clear plainDataBlock.
-                Arrays.fill(plainDataBlock, (byte) 0);
+                dst[dstIndex++] = tableEncode[(value >>> 18) & BIT_MASK];
+                dst[dstIndex++] = tableEncode[(value >>> 12) & BIT_MASK];
+                dst[dstIndex++] = (byte) PAD;
+                dst[dstIndex++] = (byte) PAD;
+            } else if (remaining == 2) {
+                int value = (src[srcIndex] & 0xFF) << 16
+                        | (src[srcIndex + 1] & 0xFF) << 8;
+
+                dst[dstIndex++] = tableEncode[(value >>> 18) & BIT_MASK];
+                dst[dstIndex++] = tableEncode[(value >>> 12) & BIT_MASK];
+                dst[dstIndex++] = tableEncode[(value >>> 6) & BIT_MASK];
+                dst[dstIndex++] = (byte) PAD;
             }
-        }
 
-        private static byte getIndex(long value, int shift) {
-            return (byte) ((value & BIT_MASK << shift) >>> shift);
+            return dstIndex - dstOffset;
         }
 
-        private static int getIntFromBlock(byte[] block) {
-            return (
-                    byteToInt(block[0]) << 16)
-                    + (byteToInt(block[1]) << 8)
-                    + (byteToInt(block[2])
-            );
-        }
+        /**
+         * Encode the complete blocks in len bytes of src into dst, and return the number of bytes written.
+         */
+        private static int encode(
+                ByteBuffer src, int srcIndex, int len,
+                ByteBuffer dst, int dstIndex,
+                short[] tablePair
+        ) {
+            int dstStart = dstIndex;
+            int blockEnd = srcIndex + len / PLAIN_DATA_BLOCK_SIZE * PLAIN_DATA_BLOCK_SIZE;
+
+            for (int index = srcIndex; index < blockEnd; index += PLAIN_DATA_BLOCK_SIZE) {
+                int value = (src.get(index) & 0xFF) << 16
+                        | (src.get(index + 1) & 0xFF) << 8
+                        | (src.get(index + 2) & 0xFF);
+
+                int pair0 = tablePair[value >>> 12];
+                int pair1 = tablePair[value & PAIR_BIT_MASK];
+
+                dst.put(dstIndex++, (byte) (pair0 >>> 8));
+                dst.put(dstIndex++, (byte) pair0);
+                dst.put(dstIndex++, (byte) (pair1 >>> 8));
+                dst.put(dstIndex++, (byte) pair1);
+            }
 
-        private static int byteToInt(byte bucketValue) {
-            return ((int) bucketValue) & 0xFF;
+            return dstIndex - dstStart;
         }
     }
 
     private static class Decoder {
 
-        public static byte[] decode(String input, int[] tableDecode, boolean expectPadding) {
-            if (input == null) {
-                throw new IllegalArgumentException("Input string must not be null.");
-            }
-            if (input.length() == 0) {
-                return new byte[0];
-            }
-            if (expectPadding && input.length() % 4 != 0) {
-                throw new IllegalArgumentException("Input string length must be divisible by 4.");
+        /**
+         * Create the four tables that map a character to its value shifted into place in a block,
+         * so that a block is the OR of four lookups. PAD, invalid and non-ASCII characters map to -1,
+         * which makes the whole block negative.
+         */
+        private static int[][] createShiftedTables(int[] tableDecode) {
+            int[][] tables = new int[ENCODED_DATA_BLOCK_SIZE][1 << 8];
+            for (int i = 0; i < ENCODED_DATA_BLOCK_SIZE; i++) {
+                int shift = (ENCODED_DATA_BLOCK_SIZE - 1 - i) * 6;
+
+                Arrays.fill(tables[i], -1);
+                for (int key = 0; key < tableDecode.length; key++) {
+                    if (tableDecode[key] >= 0) {
+                        tables[i][key] = tableDecode[key] << shift;
+                    }
+                }
             }
+            return tables;
+        }
+
+        /**
+         * Decode the characters of input in [start, end) into dst and return the number of bytes written.
+         * Decoding stops at the first PAD.
+         */
+        private static int decode(
+                CharSequence input, int start, int end,
+                byte[] dst, int dstOffset,
+                int[] tableDecode, int[][] tableDecodeShifted
+        ) {
+            int[] table0 = tableDecodeShifted[0];
+            int[] table1 = tableDecodeShifted[1];
+            int[] table2 = tableDecodeShifted[2];
+            int[] table3 = tableDecodeShifted[3];
+
+            int index = start;
+            int dstIndex = dstOffset;
+            int blockEnd = start + (end - start) / ENCODED_DATA_BLOCK_SIZE * ENCODED_DATA_BLOCK_SIZE;
+
+            while (index < blockEnd) {
+                char key0 = input.charAt(index);
+                char key1 = input.charAt(index + 1);
+                char key2 = input.charAt(index + 2);
+                char key3 = input.charAt(index + 3);
+
+                int value = table0[key0 & 0xFF]
+                        | table1[key1 & 0xFF]
+                        | table2[key2 & 0xFF]
+                        | table3[key3 & 0xFF];
 
-            int padLength = 0;
-            if (input.indexOf(PAD) >= 0) {
-                padLength = input.length() - input.indexOf(PAD);
+                // Negative if any character is PAD or invalid, or is out of the range of the tables.
+                if ((value | -((key0 | key1 | key2 | key3) >>> 8)) < 0) {
+                    // Leave it to the loop below.
+                    break;
+                }
+
+                dst[dstIndex++] = (byte) (value >>> 16);
+                dst[dstIndex++] = (byte) (value >>> 8);
+                dst[dstIndex++] = (byte) value;
+
+                index += ENCODED_DATA_BLOCK_SIZE;
             }
 
-            String padStrippedStr = input.substring(0, input.length() - padLength);
+            int value = 0;
+            int count = 0;
+            for (; index < end; index++) {
+                char key = input.charAt(index);
+                if (key == PAD) {
+                    break;
+                }
+
+                int bucketValue = getTableValue(tableDecode, key);
+                if (bucketValue < 0) {
+                    throw new IllegalArgumentException(String.format("Invalid character %c detected.", key));
+                }
 
-            ByteArrayInputStream bais = new ByteArrayInputStream(padStrippedStr.getBytes(StandardCharsets.US_ASCII));
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                value = value << 6 | bucketValue;
+                count++;
 
-            try {
-                decode(bais, baos, tableDecode, expectPadding);
-                return baos.toByteArray();
-            } catch (IOException exception) {
-                // ByteArray[Input|Output]Stream never throws IOException
-                return null;
+                if (count == ENCODED_DATA_BLOCK_SIZE) {
+                    dst[dstIndex++] = (byte) (value >>> 16);
+                    dst[dstIndex++] = (byte) (value >>> 8);
+                    dst[dstIndex++] = (byte) value;
+                    value = 0;
+                    count = 0;
+                }
             }
-        }
 
-        private static void decode(
-                InputStream inputStream,
-                OutputStream outputStream,
-                int[] tableDecode,
-                boolean expectPadding
-        ) throws IOException {
-            if (inputStream == null) {
-                throw new IllegalArgumentException("inputStream must be not null.");
+            if (count == 2) {
+                dst[dstIndex++] = (byte) (value >>> 4);
+            } else if (count == 3) {
+                dst[dstIndex++] = (byte) (value >>> 10);
+                dst[dstIndex++] = (byte) (value >>> 2);
             }
-            if (outputStream == null) {
-                throw new IllegalArgumentException("outputStream must be not null.");
+
+            return dstIndex - dstOffset;
+        }
+
+        /**
+         * Return the table value of the key, or -1 if the key is not in the alphabet.
+         */
+        private static int getTableValue(int[] tableDecode, int key) {
+            if (key >= tableDecode.length) {
+                return -1;
             }
+            return tableDecode[key];
+        }
+
+        /**
+         * Decode len bytes of src block by block into dst and return the number of bytes written.
+         */
+        private static int decode(
+                byte[] src, int srcOffset, int len,
+                byte[] dst, int dstOffset,
+                int[] tableDecode, int[][] tableDecodeShifted
+        ) {
+            int[] table0 = tableDecodeShifted[0];
+            int[] table1 = tableDecodeShifted[1];
+            int[] table2 = tableDecodeShifted[2];
+            int[] table3 = tableDecodeShifted[3];
+
+            int index = srcOffset;
+            int end = srcOffset + len;
+            int dstIndex = dstOffset;
 
-            byte[] plainDataBlock = new byte[PLAIN_DATA_BLOCK_SIZE];
-            byte[] encodedDataBlock = new byte[ENCODED_DATA_BLOCK_SIZE];
+            while (index < end) {
+                int blockLength = Math.min(ENCODED_DATA_BLOCK_SIZE, end - index);
 
-            int len;
-            while ((len = inputStream.read(encodedDataBlock, 0, ENCODED_DATA_BLOCK_SIZE)) > 0) {
-                int padSize = ENCODED_DATA_BLOCK_SIZE - len;
-                if (expectPadding) {
-                    if (encodedDataBlock[0] == PAD) {
-//                        padSize = 4;
+                if (blockLength == ENCODED_DATA_BLOCK_SIZE) {
+                    int value = table0[src[index] & 0xFF]
+                            | table1[src[index + 1] & 0xFF]
+                            | table2[src[index + 2] & 0xFF]
+                            | table3[src[index + 3] & 0xFF];
+
+                    if (value >= 0) {
+                        dst[dstIndex++] = (byte) (value >>> 16);
+                        dst[dstIndex++] = (byte) (value >>> 8);
+                        dst[dstIndex++] = (byte) value;
+
+                        index += ENCODED_DATA_BLOCK_SIZE;
                         continue;
-                    } else if (encodedDataBlock[1] == PAD) {
-                        padSize = 3;
-                    } else if (encodedDataBlock[2] == PAD) {
-                        padSize = 2;
-                    } else if (encodedDataBlock[3] == PAD) {
-                        padSize = 1;
                     }
                 }
 
-                int bucketValue0 = getTableValue(tableDecode, encodedDataBlock[0]);
-                int bucketValue1 = getTableValue(tableDecode, encodedDataBlock[1]);
-                int bucketValue2 = getTableValue(tableDecode, encodedDataBlock[2]);
-                int bucketValue3 = getTableValue(tableDecode, encodedDataBlock[3]);
+                // A padded, incomplete or invalid block. Missing characters read as PAD.
+                byte encoded0 = src[index];
+                byte encoded1 = (blockLength > 1) ? src[index + 1] : (byte) PAD;
+                byte encoded2 = (blockLength > 2) ? src[index + 2] : (byte) PAD;
+                byte encoded3 = (blockLength > 3) ? src[index + 3] : (byte) PAD;
+                index += blockLength;
 
-                int value = (bucketValue0 << 18)
-                        + (bucketValue1 << 12)
-                        + (bucketValue2 << 6)
-                        + (bucketValue3);
+                dstIndex += decodeBlock(encoded0, encoded1, encoded2, encoded3, tableDecode, dst, dstIndex);
+            }
+
+            return dstIndex - dstOffset;
+        }
 
-                convertToBlock(value, plainDataBlock);
+        /**
+         * Decode the complete blocks in len bytes of src block by block into dst,
+         * and return the number of bytes written.
+         */
+        private static int decode(
+                ByteBuffer src, int srcIndex, int len,
+                ByteBuffer dst, int dstIndex,
+                int[] tableDecode, int[][] tableDecodeShifted
+        ) {
+            int[] table0 = tableDecodeShifted[0];
+            int[] table1 = tableDecodeShifted[1];
+            int[] table2 = tableDecodeShifted[2];
+            int[] table3 = tableDecodeShifted[3];
 
-                outputStream.write(plainDataBlock, 0, PLAIN_DATA_BLOCK_SIZE - padSize);
+            int dstStart = dstIndex;
+            int blockEnd = srcIndex + len / ENCODED_DATA_BLOCK_SIZE * ENCODED_DATA_BLOCK_SIZE;
 
-                Arrays.fill(encodedDataBlock, (byte) 0);
+            byte[] block = null;
+            for (int index = srcIndex; index < blockEnd; index += ENCODED_DATA_BLOCK_SIZE) {
+                byte encoded0 = src.get(index);
+                byte encoded1 = src.get(index + 1);
+                byte encoded2 = src.get(index + 2);
+                byte encoded3 = src.get(index + 3);
+
+                int value = table0[encoded0 & 0xFF]
+                        | table1[encoded1 & 0xFF]
+                        | table2[encoded2 & 0xFF]
+                        | table3[encoded3 & 0xFF];
+
+                if (value >= 0) {
+                    dst.put(dstIndex++, (byte) (value >>> 16));
+                    dst.put(dstIndex++, (byte) (value >>> 8));
+                    dst.put(dstIndex++, (byte) value);
+                    continue;
+                }
+
+                if (block == null) {
+                    block = new byte[PLAIN_DATA_BLOCK_SIZE];
+                }
+                int resultBlockSize = decodeBlock(encoded0, encoded1, encoded2, encoded3, tableDecode, block, 0);
+                for (int i = 0; i < resultBlockSize; i++) {
+                    dst.put(dstIndex++, block[i]);
+                }
             }
+
+            return dstIndex - dstStart;
         }
 
+        /**
+         * Decode a block that contains PAD or an invalid character into dst,
+         * and return the number of bytes written.
+         * <p>
+         * A block that starts with PAD is skipped. Otherwise the first PAD determines
+         * the size of the result, and the characters after it are still validated.
+         */
+        private static int decodeBlock(
+                byte encoded0, byte encoded1, byte encoded2, byte encoded3,
+                int[] tableDecode,
+                byte[] dst, int dstOffset
+        ) {
+            int padSize = 0;
+            if (encoded0 == PAD) {
+                return 0;
+            } else if (encoded1 == PAD) {
+                padSize = 3;
+            } else if (encoded2 == PAD) {
+                padSize = 2;
+            } else if (encoded3 == PAD) {
+                padSize = 1;
+            }
+
+            int value = getTableValue(tableDecode, encoded0) << 18
+                    | getTableValue(tableDecode, encoded1) << 12
+                    | getTableValue(tableDecode, encoded2) << 6
+                    | getTableValue(tableDecode, encoded3);
+
+            int dstIndex = dstOffset;
+            int resultBlockSize = PLAIN_DATA_BLOCK_SIZE - padSize;
+            if (resultBlockSize > 0) {
+                dst[dstIndex++] = (byte) (value >>> 16);
+            }
+            if (resultBlockSize > 1) {
+                dst[dstIndex++] = (byte) (value >>> 8);
+            }
+            if (resultBlockSize > 2) {
+                dst[dstIndex++] = (byte) value;
+            }
+            return dstIndex - dstOffset;
+        }
+
+        /**
+         * Return the table value of the encoded byte. PAD reads as 0.
+         */
         private static int getTableValue(int[] tableDecode, byte value) {
-            if (value <= 0) {
+            if (value == PAD) {
                 return 0;
             }
 
-            char key = (char) value;
-            int tableValue = tableDecode[key];
+            char key = (char) (value & 0xFF);
+            int tableValue = getTableValue(tableDecode, key);
             if (tableValue < 0) {
                 throw new IllegalArgumentException(String.format("Invalid character %c detected.", key));
             }
             return tableValue;
         }
-
-        private static void convertToBlock(int value, byte[] block) {
-            block[0] = (byte) ((value & (0XFF << 16)) >>> 16);
-            block[1] = (byte) ((value & (0XFF << 8)) >>> 8);
-            block[2] = (byte) ((value & 0XFF));
-        }
     }
 }
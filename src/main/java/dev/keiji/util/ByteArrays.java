@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+/**
+ * Read and write big-endian values in byte arrays.
+ * <p>
+ * This is the Java 8 version, which accesses the bytes one by one. The version of this class
+ * in META-INF/versions/9 of the JAR accesses them at once through VarHandle views.
+ */
+final class ByteArrays {
+
+    private ByteArrays() {
+    }
+
+    /**
+     * Read the 48-bit value of the 6 bytes from index.
+     * The 8 bytes from index must be in src, so that the other versions can read them at once.
+     */
+    static long getLong48(byte[] src, int index) {
+        return (src[index] & 0xFFL) << 40
+                | (src[index + 1] & 0xFFL) << 32
+                | (src[index + 2] & 0xFFL) << 24
+                | (src[index + 3] & 0xFFL) << 16
+                | (src[index + 4] & 0xFFL) << 8
+                | (src[index + 5] & 0xFFL);
+    }
+
+    /**
+     * Read the 40-bit value of the 5 bytes from index.
+     * The 8 bytes from index must be in src, so that the other versions can read them at once.
+     */
+    static long getLong40(byte[] src, int index) {
+        return (src[index] & 0xFFL) << 32
+                | (src[index + 1] & 0xFFL) << 24
+                | (src[index + 2] & 0xFFL) << 16
+                | (src[index + 3] & 0xFFL) << 8
+                | (src[index + 4] & 0xFFL);
+    }
+
+    /**
+     * Write four 16-bit values from index.
+     */
+    static void putShorts(byte[] dst, int index, int value0, int value1, int value2, int value3) {
+        dst[index] = (byte) (value0 >>> 8);
+        dst[index + 1] = (byte) value0;
+        dst[index + 2] = (byte) (value1 >>> 8);
+        dst[index + 3] = (byte) value1;
+        dst[index + 4] = (byte) (value2 >>> 8);
+        dst[index + 5] = (byte) value2;
+        dst[index + 6] = (byte) (value3 >>> 8);
+        dst[index + 7] = (byte) value3;
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * An encoder and decoder of one alphabet of RFC 4648.
+ * <p>
+ * Instances are obtained from {@link Base64#standard()}, {@link Base64#urlSafe()}, {@link Base32#standard()},
+ * {@link Base32#extendedHex()} and {@link Base16#upper()}. The alphabet, the padding rule and the engine
+ * are resolved once when the instance is created, so a call goes straight to the engine.
+ * <p>
+ * Instances are immutable and can be shared between threads. The scratch buffers of the char and stream
+ * paths are held per thread, so concurrent calls do not contend and repeated calls do not allocate them again.
+ */
+public final class Codec {
+
+    private final String name;
+    final CodecEngine engine;
+
+    // True if the number of encoded characters must be a multiple of the encoded data block size.
+    private final boolean complete;
+
+    Codec(String name, CodecEngine engine, boolean complete) {
+        this.name = name;
+        this.engine = engine;
+        this.complete = complete;
+    }
+
+    /**
+     * Encode the given data and return a newly allocated String with the result.
+     *
+     * @param input the data to encode
+     * @return a newly allocated String with the result
+     */
+    public String encode(byte[] input) {
+        return engine.encodeToString(input, false);
+    }
+
+    /**
+     * Encode the given data on multiple threads and return a newly allocated String with the result.
+     * <p>
+     * The data is split at block boundaries and encoded on the common ForkJoinPool.
+     * Data smaller than the threshold set by the system property
+     * {@code dev.keiji.util.parallelThreshold} (1 MiB by default) is encoded on the calling thread.
+     *
+     * @param input the data to encode
+     * @return a newly allocated String with the result
+     */
+    public String encodeParallel(byte[] input) {
+        return engine.encodeToString(input, true);
+    }
+
+    /**
+     * Return the length of the encoded data of inputLength bytes including padding.
+     *
+     * @param inputLength the number of bytes to encode
+     * @return the number of characters of the result
+     */
+    public int encodedLength(int inputLength) {
+        return engine.encodedLength(inputLength);
+    }
+
+    /**
+     * Encode len bytes of src from srcOffset into dst from dstOffset.
+     * <p>
+     * dst must have room for {@link #encodedLength(int) encodedLength(len)} bytes. Nothing is allocated.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of bytes written to dst
+     */
+    public int encode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        return engine.encodeInto(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Encode len bytes of src from srcOffset into dst from dstOffset as chars.
+     * <p>
+     * dst must have room for {@link #encodedLength(int) encodedLength(len)} chars. Nothing is allocated
+     * except a small buffer per thread on the first call.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of chars written to dst
+     */
+    public int encode(byte[] src, int srcOffset, int len, char[] dst, int dstOffset) {
+        return engine.encodeInto(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Encode len bytes of src from srcOffset and append the result to out.
+     * <p>
+     * The capacity of out is ensured once and the result is appended in chunks,
+     * without creating a String of the whole result.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param out       the StringBuilder to append the result to
+     * @return the number of chars appended to out
+     */
+    public int encodeTo(byte[] src, int srcOffset, int len, StringBuilder out) {
+        return engine.encodeTo(src, srcOffset, len, out);
+    }
+
+    /**
+     * Encode len bytes of src from srcOffset and append the result to out.
+     * <p>
+     * The result is appended in chunks, without creating a String of the whole result.
+     * A Writer takes each chunk as a char array.
+     *
+     * @param src       the data to encode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of bytes to encode
+     * @param out       the Appendable to append the result to
+     * @return the number of chars appended to out
+     */
+    public int encodeTo(byte[] src, int srcOffset, int len, Appendable out) throws IOException {
+        return engine.encodeTo(src, srcOffset, len, out);
+    }
+
+    /**
+     * Encode the given data and return the result as ASCII characters in a new byte array.
+     *
+     * @param input the data to encode
+     * @return the ASCII characters of the result in a new byte array
+     */
+    public byte[] encodeToBytes(byte[] input) {
+        return engine.encodeToBytes(input);
+    }
+
+    /**
+     * Encode len bytes of input from offset and return the result as ASCII characters in a new byte array.
+     *
+     * @param input  the data to encode
+     * @param offset the offset of the data in input
+     * @param len    the number of bytes to encode
+     * @return the ASCII characters of the result in a new byte array
+     */
+    public byte[] encodeToBytes(byte[] input, int offset, int len) {
+        return engine.encodeToBytes(input, offset, len);
+    }
+
+    /**
+     * Encode the given stream data and output encoded data as stream.
+     * <p>
+     * The data goes through a buffer per thread, which is reused by the later calls on the thread.
+     *
+     * @param inputStream  the data stream to encode
+     * @param outputStream the output stream of the result
+     */
+    public void encode(InputStream inputStream, OutputStream outputStream) throws IOException {
+        engine.encode(inputStream, outputStream);
+    }
+
+    /**
+     * Encode the remaining bytes of src into dst.
+     * <p>
+     * The remaining bytes of src are the whole data, so the last incomplete block is padded.
+     * Encoding stops at a block boundary when dst is full. The positions of both buffers are
+     * advanced past the consumed and produced bytes, so the call can be repeated with more space
+     * in dst until src has no remaining bytes.
+     *
+     * @param src the data to encode
+     * @param dst the buffer of the result
+     * @return the number of bytes written to dst
+     */
+    public int encode(ByteBuffer src, ByteBuffer dst) {
+        return engine.encode(src, dst);
+    }
+
+    /**
+     * Encode the file in and write the result to the file out.
+     * <p>
+     * Both files are memory-mapped in windows, so files larger than 2 GB are supported.
+     * out is created if it does not exist, and truncated if it does.
+     *
+     * @param in  the file to encode
+     * @param out the file of the result
+     */
+    public void encode(Path in, Path out) throws IOException {
+        engine.encode(in, out);
+    }
+
+    /**
+     * Wrap the given output stream to encode the data written to it.
+     * <p>
+     * The data is encoded incrementally through a block-aligned buffer. {@code flush()} writes
+     * every complete block, and the last incomplete block is padded on {@code close()}.
+     * Closing the returned stream closes outputStream.
+     *
+     * @param outputStream the output stream of the result
+     * @return the output stream to write the data to encode
+     */
+    public OutputStream wrap(OutputStream outputStream) {
+        return new EncodingOutputStream(engine, outputStream);
+    }
+
+    /**
+     * Return the length of the data decoded from input.
+     * <p>
+     * Trailing PADs are not counted, so the result is exact unless a PAD in the middle of the input
+     * ends the data early. The length of input is not validated; decoding reports an invalid length.
+     *
+     * @param input the data to decode
+     * @return the number of bytes of the result
+     */
+    public int decodedLength(CharSequence input) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input string must not be null.");
+        }
+        return engine.decodedLength(input, 0, input.length());
+    }
+
+    /**
+     * Decode the encoded data in input and return the data in a new byte array.
+     * <p>
+     * input can be any CharSequence, such as a StringBuilder or a CharBuffer. It is read in place.
+     *
+     * @param input the data to decode
+     * @return the data in a new byte array
+     */
+    public byte[] decode(CharSequence input) {
+        return engine.decodeChars(input, complete, false);
+    }
+
+    /**
+     * Decode the encoded data in the characters of input from start to end (exclusive)
+     * and return the data in a new byte array.
+     *
+     * @param input the data to decode
+     * @param start the index of the first character to decode
+     * @param end   the index after the last character to decode
+     * @return the data in a new byte array
+     */
+    public byte[] decode(CharSequence input, int start, int end) {
+        return engine.decodeChars(input, start, end, complete, false);
+    }
+
+    /**
+     * Decode the encoded data in input on multiple threads and return the data in a new byte array.
+     * <p>
+     * The data is split at block boundaries and decoded on the common ForkJoinPool.
+     * Data smaller than the threshold set by the system property
+     * {@code dev.keiji.util.parallelThreshold} (1 MiB by default) is decoded on the calling thread.
+     *
+     * @param input the data to decode
+     * @return the data in a new byte array
+     */
+    public byte[] decodeParallel(CharSequence input) {
+        return engine.decodeChars(input, complete, true);
+    }
+
+    /**
+     * Decode len characters of the encoded data in src from srcOffset into dst from dstOffset.
+     * <p>
+     * dst must have room for {@link #decodedLength(CharSequence) decodedLength} of the characters.
+     * Nothing is allocated.
+     *
+     * @param src       the data to decode
+     * @param srcOffset the offset of the data in src
+     * @param len       the number of characters to decode
+     * @param dst       the buffer of the result
+     * @param dstOffset the offset of the result in dst
+     * @return the number of bytes written to dst
+     */
+    public int decode(CharSequence src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        return engine.decodeInto(src, srcOffset, len, complete, dst, dstOffset);
+    }
+
+    /**
+     * Decode the encoded ASCII characters in input and return the data in a new byte array.
+     * <p>
+     * No String is created. The data is decoded block by block as {@link #decode(InputStream, OutputStream)} does.
+     *
+     * @param input the ASCII characters to decode
+     * @return the data in a new byte array
+     */
+    public byte[] decodeFromBytes(byte[] input) {
+        return engine.decodeFromBytes(input, complete);
+    }
+
+    /**
+     * Decode len bytes of the encoded ASCII characters in input from offset and return the data in a new byte array.
+     * <p>
+     * No String is created. The data is decoded block by block as {@link #decode(InputStream, OutputStream)} does.
+     *
+     * @param input  the ASCII characters to decode
+     * @param offset the offset of the characters in input
+     * @param len    the number of characters to decode
+     * @return the data in a new byte array
+     */
+    public byte[] decodeFromBytes(byte[] input, int offset, int len) {
+        return engine.decodeFromBytes(input, offset, len, complete);
+    }
+
+    /**
+     * Decode the encoded data in input and output decoded data as stream.
+     * <p>
+     * The data goes through a buffer per thread, which is reused by the later calls on the thread.
+     *
+     * @param inputStream  the data stream to decode
+     * @param outputStream the output stream of the result
+     */
+    public void decode(InputStream inputStream, OutputStream outputStream) throws IOException {
+        engine.decode(inputStream, outputStream);
+    }
+
+    /**
+     * Decode the encoded data in the remaining bytes of src into dst.
+     * <p>
+     * Decoding stops at a block boundary when dst is full. The positions of both buffers are
+     * advanced past the consumed and produced bytes, so the call can be repeated with more space
+     * in dst until src has no remaining bytes.
+     *
+     * @param src the data to decode
+     * @param dst the buffer of the result
+     * @return the number of bytes written to dst
+     */
+    public int decode(ByteBuffer src, ByteBuffer dst) {
+        return engine.decode(src, dst);
+    }
+
+    /**
+     * Decode the encoded data in the file in and write the result to the file out.
+     * <p>
+     * Both files are memory-mapped in windows, so files larger than 2 GB are supported.
+     * out is created if it does not exist, and truncated if it does.
+     *
+     * @param in  the file to decode
+     * @param out the file of the result
+     */
+    public void decode(Path in, Path out) throws IOException {
+        engine.decode(in, out);
+    }
+
+    /**
+     * Wrap the given input stream to decode the encoded data read from it.
+     * <p>
+     * The data is decoded on demand through a block-aligned buffer.
+     * Closing the returned stream closes inputStream.
+     *
+     * @param inputStream the data stream to decode
+     * @return the input stream of the result
+     */
+    public InputStream wrap(InputStream inputStream) {
+        return new DecodingInputStream(engine, inputStream);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,893 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Block based encoder and decoder of one alphabet.
+ * <p>
+ * Subclasses implement the array and ByteBuffer kernels. The stream and ByteBuffer paths
+ * are shared and work on whole blocks so that a block is never split by a short read
+ * or by a full destination buffer.
+ */
+abstract class CodecEngine {
+
+    /**
+     * Size of the internal buffer that holds the encoded side of the stream paths.
+     */
+    static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Size of the encoded side of a memory-mapped window of the file paths.
+     */
+    static final int MAPPED_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Name of the system property that overrides {@link #PARALLEL_THRESHOLD_DEFAULT}.
+     * It is read once when the class is initialized.
+     */
+    static final String PARALLEL_THRESHOLD_PROPERTY = "dev.keiji.util.parallelThreshold";
+
+    /**
+     * Size of the input below which the parallel paths run on the calling thread.
+     */
+    static final int PARALLEL_THRESHOLD_DEFAULT = 1024 * 1024;
+
+    /**
+     * Minimum size of the input of a task of the parallel paths.
+     */
+    static final int PARALLEL_CHUNK_SIZE = 64 * 1024;
+
+    private static volatile int parallelThreshold =
+            Integer.getInteger(PARALLEL_THRESHOLD_PROPERTY, PARALLEL_THRESHOLD_DEFAULT);
+
+    /**
+     * Size of the per-thread buffer that holds the encoded data on its way between chars and bytes.
+     * It is a multiple of the encoded data block size of every alphabet.
+     */
+    static final int SCRATCH_BUFFER_SIZE = 4 * 1024;
+
+    static final ThreadLocal<byte[]> SCRATCH_BUFFER = ThreadLocal.withInitial(
+            () -> new byte[SCRATCH_BUFFER_SIZE]);
+
+    // Also used by StringBuilders of Java 8, which is done with it before appendAscii returns.
+    static final ThreadLocal<char[]> SCRATCH_CHARS = ThreadLocal.withInitial(
+            () -> new char[SCRATCH_BUFFER_SIZE]);
+
+    // Buffers of the stream paths, which are the same size for every alphabet.
+    // A call takes them out while it runs, so a nested call on the same thread allocates its own.
+    private static final ThreadLocal<byte[][]> STREAM_BUFFERS = ThreadLocal.withInitial(
+            () -> new byte[][]{new byte[STREAM_BUFFER_SIZE], new byte[STREAM_BUFFER_SIZE]});
+
+    private static final char PAD = '=';
+
+    final int plainDataBlockSize;
+    final int encodedDataBlockSize;
+
+    CodecEngine(int plainDataBlockSize, int encodedDataBlockSize) {
+        this.plainDataBlockSize = plainDataBlockSize;
+        this.encodedDataBlockSize = encodedDataBlockSize;
+    }
+
+    /**
+     * Encode len bytes of src into dst and return the number of bytes written.
+     * <p>
+     * If len is not a multiple of the plain data block size, the last block is
+     * treated as the end of data and padded.
+     */
+    abstract int encode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset);
+
+    /**
+     * Decode len bytes of src into dst and return the number of bytes written.
+     * <p>
+     * If len is not a multiple of the encoded data block size, the last block is
+     * treated as the end of data.
+     */
+    abstract int decode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset);
+
+    /**
+     * Encode len bytes of src starting at the absolute index srcIndex into dst starting at dstIndex
+     * and return the number of bytes written. len is a multiple of the plain data block size.
+     * The positions of the buffers are not changed.
+     */
+    abstract int encode(ByteBuffer src, int srcIndex, int len, ByteBuffer dst, int dstIndex);
+
+    /**
+     * Decode len bytes of src starting at the absolute index srcIndex into dst starting at dstIndex
+     * and return the number of bytes written. len is a multiple of the encoded data block size.
+     * The positions of the buffers are not changed.
+     */
+    abstract int decode(ByteBuffer src, int srcIndex, int len, ByteBuffer dst, int dstIndex);
+
+    /**
+     * Decode the characters of src in [start, end) into dst and return the number of bytes written.
+     * <p>
+     * start is a multiple of the encoded data block size. Decoding stops at the first PAD,
+     * and an incomplete last block is treated as the end of data.
+     */
+    abstract int decode(CharSequence src, int start, int end, byte[] dst, int dstOffset);
+
+    @SuppressWarnings("deprecation")
+    static String toAsciiString(byte[] ascii) {
+        // Every byte is ASCII, so the hibyte constructor builds the String
+        // without going through a CharsetDecoder.
+        return new String(ascii, 0, 0, ascii.length);
+    }
+
+    /**
+     * Return the size of the encoded data of len bytes including padding.
+     */
+    int encodedLength(int len) {
+        if (len < 0) {
+            throw new IllegalArgumentException("Input length must not be negative.");
+        }
+
+        long length = ((long) len + plainDataBlockSize - 1) / plainDataBlockSize * encodedDataBlockSize;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Input data is too large to encode.");
+        }
+        return (int) length;
+    }
+
+    /**
+     * Check the arguments and encode len bytes of src into dst, which must have room for the whole result.
+     * Return the number of bytes written.
+     */
+    int encodeInto(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        if (dst == null) {
+            throw new IllegalArgumentException("dst must not be null.");
+        }
+        checkEncodeArguments(src, srcOffset, len, dst.length, dstOffset);
+
+        return encode(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Check the arguments and encode len bytes of src into dst, which must have room for the whole result.
+     * Return the number of chars written.
+     * <p>
+     * The data is encoded in chunks into a per-thread buffer and widened to chars,
+     * so nothing is allocated once the thread has its buffer.
+     */
+    int encodeInto(byte[] src, int srcOffset, int len, char[] dst, int dstOffset) {
+        if (dst == null) {
+            throw new IllegalArgumentException("dst must not be null.");
+        }
+        checkEncodeArguments(src, srcOffset, len, dst.length, dstOffset);
+
+        int chunkSize = SCRATCH_BUFFER_SIZE / encodedDataBlockSize * plainDataBlockSize;
+
+        int dstIndex = dstOffset;
+        int end = srcOffset + len;
+        for (int index = srcOffset; index < end; index += chunkSize) {
+            dstIndex += encodeChunk(src, index, Math.min(chunkSize, end - index), dst, dstIndex);
+        }
+        return dstIndex - dstOffset;
+    }
+
+    /**
+     * Check the argument and encode input into a new String, on multiple threads if parallel is true.
+     */
+    String encodeToString(byte[] input, boolean parallel) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input data must not be null.");
+        }
+
+        byte[] encoded = new byte[encodedLength(input.length)];
+        if (parallel) {
+            encodeParallel(input, encoded);
+        } else {
+            encode(input, 0, input.length, encoded, 0);
+        }
+        return toAsciiString(encoded);
+    }
+
+    byte[] decodeChars(CharSequence input, boolean complete, boolean parallel) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input string must not be null.");
+        }
+        return decodeChars(input, 0, input.length(), complete, parallel);
+    }
+
+    /**
+     * Check the arguments and decode the characters of input in [start, end) into a new byte array,
+     * on multiple threads if parallel is true.
+     *
+     * @param complete true if the number of characters must be a multiple of the encoded data block size
+     */
+    byte[] decodeChars(CharSequence input, int start, int end, boolean complete, boolean parallel) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input string must not be null.");
+        }
+        if (start < 0 || start > end || end > input.length()) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (start == end) {
+            return new byte[0];
+        }
+        if (complete && (end - start) % encodedDataBlockSize != 0) {
+            throw new IllegalArgumentException(
+                    "Input string length must be divisible by " + encodedDataBlockSize + ".");
+        }
+
+        byte[] decoded = new byte[decodedLength(input, start, end)];
+        int len = parallel
+                ? decodeParallel(input, start, end, decoded)
+                : decode(input, start, end, decoded, 0);
+
+        // A PAD in the middle of the input terminates the data.
+        return (len == decoded.length) ? decoded : Arrays.copyOf(decoded, len);
+    }
+
+    byte[] encodeToBytes(byte[] input) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input data must not be null.");
+        }
+        return encodeToBytes(input, 0, input.length);
+    }
+
+    /**
+     * Check the arguments and encode len bytes of input into a new byte array of ASCII characters.
+     */
+    byte[] encodeToBytes(byte[] input, int offset, int len) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input data must not be null.");
+        }
+        if (offset < 0 || len < 0 || len > input.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        byte[] encoded = new byte[encodedLength(len)];
+        encode(input, offset, len, encoded, 0);
+        return encoded;
+    }
+
+    byte[] decodeFromBytes(byte[] input, boolean complete) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input data must not be null.");
+        }
+        return decodeFromBytes(input, 0, input.length, complete);
+    }
+
+    /**
+     * Check the arguments and decode len bytes of input into a new byte array.
+     * <p>
+     * The data is decoded block by block as the stream paths do.
+     *
+     * @param complete true if len must be a multiple of the encoded data block size
+     */
+    byte[] decodeFromBytes(byte[] input, int offset, int len, boolean complete) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input data must not be null.");
+        }
+        if (offset < 0 || len < 0 || len > input.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (complete && len % encodedDataBlockSize != 0) {
+            throw new IllegalArgumentException(
+                    "Input data length must be divisible by " + encodedDataBlockSize + ".");
+        }
+
+        // Trailing PADs are not counted, so the size is exact unless a PAD in the middle ends a block early.
+        int dataEnd = offset + len;
+        while (dataEnd > offset && input[dataEnd - 1] == PAD) {
+            dataEnd--;
+        }
+        byte[] decoded = new byte[(int) ((long) (dataEnd - offset) * plainDataBlockSize / encodedDataBlockSize)];
+
+        int written = decode(input, offset, len, decoded, 0);
+        return (written == decoded.length) ? decoded : Arrays.copyOf(decoded, written);
+    }
+
+    /**
+     * Return the size of the data decoded from the characters of src in [start, end).
+     * <p>
+     * Trailing PADs are not counted. The result is exact unless a PAD in the middle ends the data early.
+     * The length is not validated here. Every public decodedLength method delegates to this one,
+     * and an invalid length is reported by decoding.
+     */
+    int decodedLength(CharSequence src, int start, int end) {
+        int dataEnd = end;
+        while (dataEnd > start && src.charAt(dataEnd - 1) == PAD) {
+            dataEnd--;
+        }
+        return (int) ((long) (dataEnd - start) * plainDataBlockSize / encodedDataBlockSize);
+    }
+
+    /**
+     * Check the arguments and decode len characters of src into dst, which must have room for the whole result.
+     * Return the number of bytes written.
+     *
+     * @param complete true if len must be a multiple of the encoded data block size
+     */
+    int decodeInto(CharSequence src, int srcOffset, int len, boolean complete, byte[] dst, int dstOffset) {
+        if (src == null) {
+            throw new IllegalArgumentException("src must not be null.");
+        }
+        if (dst == null) {
+            throw new IllegalArgumentException("dst must not be null.");
+        }
+        if (srcOffset < 0 || len < 0 || len > src.length() - srcOffset) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (dstOffset < 0 || dstOffset > dst.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (complete && len % encodedDataBlockSize != 0) {
+            throw new IllegalArgumentException(
+                    "Input string length must be divisible by " + encodedDataBlockSize + ".");
+        }
+
+        int end = srcOffset + len;
+        if (decodedLength(src, srcOffset, end) > dst.length - dstOffset) {
+            throw new IllegalArgumentException("dst is too small to hold the result.");
+        }
+        return decode(src, srcOffset, end, dst, dstOffset);
+    }
+
+    /**
+     * Check the arguments, encode len bytes of src and append the result to out in chunks.
+     * Return the number of chars appended.
+     * <p>
+     * The capacity of out is ensured once, and each chunk is appended in the way
+     * that {@link StringBuilders} of the running JVM does it fastest.
+     */
+    int encodeTo(byte[] src, int srcOffset, int len, StringBuilder out) {
+        if (out == null) {
+            throw new IllegalArgumentException("out must not be null.");
+        }
+        checkSourceArguments(src, srcOffset, len);
+        out.ensureCapacity(out.length() + encodedLength(len));
+
+        byte[] buffer = SCRATCH_BUFFER.get();
+        int chunkSize = buffer.length / encodedDataBlockSize * plainDataBlockSize;
+
+        int appended = 0;
+        int end = srcOffset + len;
+        for (int index = srcOffset; index < end; index += chunkSize) {
+            // Only the last chunk can be incomplete, so padding is written only at the end.
+            int written = encode(src, index, Math.min(chunkSize, end - index), buffer, 0);
+            StringBuilders.appendAscii(out, buffer, written);
+            appended += written;
+        }
+        return appended;
+    }
+
+    /**
+     * Check the arguments, encode len bytes of src and append the result to out in chunks.
+     * Return the number of chars appended.
+     * <p>
+     * A StringBuilder is handled by the overload above. A Writer takes each chunk as a char array,
+     * which it must consume during the call. Any other Appendable may keep the CharSequence it is given,
+     * so it takes each chunk as a String of its own.
+     */
+    int encodeTo(byte[] src, int srcOffset, int len, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            return encodeTo(src, srcOffset, len, (StringBuilder) out);
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("out must not be null.");
+        }
+        checkSourceArguments(src, srcOffset, len);
+
+        char[] chars = SCRATCH_CHARS.get();
+        int chunkSize = chars.length / encodedDataBlockSize * plainDataBlockSize;
+
+        int appended = 0;
+        int end = srcOffset + len;
+        for (int index = srcOffset; index < end; index += chunkSize) {
+            int written = encodeChunk(src, index, Math.min(chunkSize, end - index), chars, 0);
+            if (out instanceof Writer) {
+                ((Writer) out).write(chars, 0, written);
+            } else {
+                out.append(new String(chars, 0, written));
+            }
+            appended += written;
+        }
+        return appended;
+    }
+
+    /**
+     * Encode len bytes of src, at most a per-thread buffer of encoded data, through that buffer
+     * and widen the result into dst. Return the number of chars written.
+     * <p>
+     * Only the last chunk of the data can be incomplete, so padding is written only at the end.
+     */
+    private int encodeChunk(byte[] src, int srcOffset, int len, char[] dst, int dstOffset) {
+        byte[] buffer = SCRATCH_BUFFER.get();
+        int written = encode(src, srcOffset, len, buffer, 0);
+        for (int i = 0; i < written; i++) {
+            dst[dstOffset + i] = (char) buffer[i];
+        }
+        return written;
+    }
+
+    private static void checkSourceArguments(byte[] src, int srcOffset, int len) {
+        if (src == null) {
+            throw new IllegalArgumentException("src must not be null.");
+        }
+        if (srcOffset < 0 || len < 0 || len > src.length - srcOffset) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    private void checkEncodeArguments(byte[] src, int srcOffset, int len, int dstLength, int dstOffset) {
+        checkSourceArguments(src, srcOffset, len);
+        if (dstOffset < 0 || dstOffset > dstLength) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (encodedLength(len) > dstLength - dstOffset) {
+            throw new IllegalArgumentException("dst is too small to hold the result.");
+        }
+    }
+
+    static int parallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Replace the threshold of the parallel paths. For tests.
+     */
+    static void setParallelThreshold(int threshold) {
+        parallelThreshold = threshold;
+    }
+
+    /**
+     * Encode all of src into dst, which has exactly the encoded length, splitting the work
+     * at block-aligned offsets on the common ForkJoinPool if src is large enough.
+     */
+    void encodeParallel(byte[] src, byte[] dst) {
+        if (src.length < parallelThreshold()) {
+            encode(src, 0, src.length, dst, 0);
+            return;
+        }
+
+        int parallelism = ForkJoinPool.commonPool().getParallelism();
+        int chunkSize = Math.max(src.length / (parallelism * 4), PARALLEL_CHUNK_SIZE);
+        int chunkBlocks = Math.max(chunkSize / plainDataBlockSize, 1);
+
+        ForkJoinPool.commonPool().invoke(new EncodeTask(this, src, 0, src.length, dst, 0, chunkBlocks));
+    }
+
+    private static final class EncodeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final CodecEngine engine;
+        private final byte[] src;
+        private final int srcOffset;
+        private final int len;
+        private final byte[] dst;
+        private final int dstOffset;
+        private final int chunkBlocks;
+
+        EncodeTask(CodecEngine engine, byte[] src, int srcOffset, int len, byte[] dst, int dstOffset, int chunkBlocks) {
+            this.engine = engine;
+            this.src = src;
+            this.srcOffset = srcOffset;
+            this.len = len;
+            this.dst = dst;
+            this.dstOffset = dstOffset;
+            this.chunkBlocks = chunkBlocks;
+        }
+
+        @Override
+        protected void compute() {
+            int blocks = len / engine.plainDataBlockSize;
+            if (blocks <= chunkBlocks) {
+                engine.encode(src, srcOffset, len, dst, dstOffset);
+                return;
+            }
+
+            // The left half is block-aligned, so only the right half can end with a padded block.
+            int leftBlocks = blocks / 2;
+            int leftLength = leftBlocks * engine.plainDataBlockSize;
+            int leftEncodedLength = leftBlocks * engine.encodedDataBlockSize;
+
+            invokeAll(
+                    new EncodeTask(engine, src, srcOffset, leftLength, dst, dstOffset, chunkBlocks),
+                    new EncodeTask(engine, src, srcOffset + leftLength, len - leftLength,
+                            dst, dstOffset + leftEncodedLength, chunkBlocks)
+            );
+        }
+    }
+
+    /**
+     * Decode the characters of src in [start, end) into dst, which is large enough for all of them,
+     * splitting the work at block boundaries on the common ForkJoinPool if src is large enough.
+     * <p>
+     * The result is the same as decoding on the calling thread. If several chunks contain
+     * invalid characters, the exception of the earliest one is thrown, and chunks after
+     * a PAD are ignored.
+     */
+    int decodeParallel(CharSequence src, int start, int end, byte[] dst) {
+        int len = end - start;
+        if (len == 0 || len < parallelThreshold()) {
+            return decode(src, start, end, dst, 0);
+        }
+
+        int parallelism = ForkJoinPool.commonPool().getParallelism();
+        int chunkSize = Math.max(len / (parallelism * 4), PARALLEL_CHUNK_SIZE);
+        int chunkBlocks = Math.max(chunkSize / encodedDataBlockSize, 1);
+        int chunkCount = (int) (((long) len + chunkBlocks * encodedDataBlockSize - 1)
+                / (chunkBlocks * encodedDataBlockSize));
+
+        DecodeTask task = new DecodeTask(this, src, start, end, dst, chunkBlocks, chunkCount);
+        ForkJoinPool.commonPool().invoke(task);
+        return task.result();
+    }
+
+    private static final class DecodeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final CodecEngine engine;
+        private final CharSequence src;
+        private final int start;
+        private final int end;
+        private final byte[] dst;
+        private final int chunkBlocks;
+
+        private final int[] written;
+        private final IllegalArgumentException[] errors;
+
+        private final int chunkFrom;
+        private final int chunkTo;
+
+        DecodeTask(
+                CodecEngine engine, CharSequence src, int start, int end, byte[] dst,
+                int chunkBlocks, int chunkCount
+        ) {
+            this(engine, src, start, end, dst, chunkBlocks,
+                    new int[chunkCount], new IllegalArgumentException[chunkCount], 0, chunkCount);
+        }
+
+        private DecodeTask(
+                CodecEngine engine, CharSequence src, int start, int end, byte[] dst, int chunkBlocks,
+                int[] written, IllegalArgumentException[] errors,
+                int chunkFrom, int chunkTo
+        ) {
+            this.engine = engine;
+            this.src = src;
+            this.start = start;
+            this.end = end;
+            this.dst = dst;
+            this.chunkBlocks = chunkBlocks;
+            this.written = written;
+            this.errors = errors;
+            this.chunkFrom = chunkFrom;
+            this.chunkTo = chunkTo;
+        }
+
+        @Override
+        protected void compute() {
+            if (chunkTo - chunkFrom > 1) {
+                int middle = (chunkFrom + chunkTo) >>> 1;
+                invokeAll(
+                        new DecodeTask(engine, src, start, end, dst, chunkBlocks, written, errors, chunkFrom, middle),
+                        new DecodeTask(engine, src, start, end, dst, chunkBlocks, written, errors, middle, chunkTo)
+                );
+                return;
+            }
+
+            int chunkStart = start + chunkFrom * chunkBlocks * engine.encodedDataBlockSize;
+            int chunkEnd = (int) Math.min((long) chunkStart + chunkBlocks * engine.encodedDataBlockSize, end);
+            int dstOffset = chunkFrom * chunkBlocks * engine.plainDataBlockSize;
+            try {
+                written[chunkFrom] = engine.decode(src, chunkStart, chunkEnd, dst, dstOffset);
+            } catch (IllegalArgumentException exception) {
+                errors[chunkFrom] = exception;
+            }
+        }
+
+        /**
+         * Combine the results of the chunks in order, as decoding on a single thread would.
+         */
+        int result() {
+            int total = 0;
+            for (int i = 0; i < written.length; i++) {
+                if (errors[i] != null) {
+                    throw errors[i];
+                }
+                total += written[i];
+
+                if (written[i] < chunkBlocks * engine.plainDataBlockSize) {
+                    // A PAD or the end of data. The chunks after it are not part of the result.
+                    break;
+                }
+            }
+            return total;
+        }
+    }
+
+    void encode(InputStream inputStream, OutputStream outputStream) throws IOException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("inputStream must not be null.");
+        }
+        if (outputStream == null) {
+            throw new IllegalArgumentException("outputStream must not be null.");
+        }
+
+        int blocks = STREAM_BUFFER_SIZE / encodedDataBlockSize;
+        byte[][] buffers = takeStreamBuffers();
+        try {
+            transfer(inputStream, outputStream,
+                    buffers[0], plainDataBlockSize * blocks, plainDataBlockSize, buffers[1], true);
+        } finally {
+            STREAM_BUFFERS.set(buffers);
+        }
+    }
+
+    void decode(InputStream inputStream, OutputStream outputStream) throws IOException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("inputStream must not be null.");
+        }
+        if (outputStream == null) {
+            throw new IllegalArgumentException("outputStream must not be null.");
+        }
+
+        int blocks = STREAM_BUFFER_SIZE / encodedDataBlockSize;
+        byte[][] buffers = takeStreamBuffers();
+        try {
+            transfer(inputStream, outputStream,
+                    buffers[0], encodedDataBlockSize * blocks, encodedDataBlockSize, buffers[1], false);
+        } finally {
+            STREAM_BUFFERS.set(buffers);
+        }
+    }
+
+    private static byte[][] takeStreamBuffers() {
+        byte[][] buffers = STREAM_BUFFERS.get();
+        if (buffers == null) {
+            // Taken by an outer call on this thread.
+            return new byte[][]{new byte[STREAM_BUFFER_SIZE], new byte[STREAM_BUFFER_SIZE]};
+        }
+        STREAM_BUFFERS.set(null);
+        return buffers;
+    }
+
+    /**
+     * Transfer the data of inputStream to outputStream through the first inLength bytes of in,
+     * which is a multiple of inBlockSize, and out.
+     */
+    private void transfer(
+            InputStream inputStream,
+            OutputStream outputStream,
+            byte[] in,
+            int inLength,
+            int inBlockSize,
+            byte[] out,
+            boolean encode
+    ) throws IOException {
+        // Bytes of an incomplete block carried over from the previous read.
+        int carry = 0;
+
+        int len;
+        while ((len = inputStream.read(in, carry, inLength - carry)) >= 0) {
+            int available = carry + len;
+            int alignedLength = available - available % inBlockSize;
+
+            if (alignedLength > 0) {
+                int written = encode
+                        ? encode(in, 0, alignedLength, out, 0)
+                        : decode(in, 0, alignedLength, out, 0);
+                outputStream.write(out, 0, written);
+            }
+
+            carry = available - alignedLength;
+            System.arraycopy(in, alignedLength, in, 0, carry);
+        }
+
+        if (carry > 0) {
+            int written = encode
+                    ? encode(in, 0, carry, out, 0)
+                    : decode(in, 0, carry, out, 0);
+            outputStream.write(out, 0, written);
+        }
+    }
+
+    int encode(ByteBuffer src, ByteBuffer dst) {
+        if (src == null) {
+            throw new IllegalArgumentException("src must not be null.");
+        }
+        if (dst == null) {
+            throw new IllegalArgumentException("dst must not be null.");
+        }
+
+        int blocks = Math.min(src.remaining() / plainDataBlockSize, dst.remaining() / encodedDataBlockSize);
+        int written = transfer(src, blocks * plainDataBlockSize, dst, true);
+        return written + transferBlockByBlock(src, plainDataBlockSize, dst, encodedDataBlockSize, true);
+    }
+
+    int decode(ByteBuffer src, ByteBuffer dst) {
+        if (src == null) {
+            throw new IllegalArgumentException("src must not be null.");
+        }
+        if (dst == null) {
+            throw new IllegalArgumentException("dst must not be null.");
+        }
+
+        int blocks = Math.min(src.remaining() / encodedDataBlockSize, dst.remaining() / plainDataBlockSize);
+        int written = transfer(src, blocks * encodedDataBlockSize, dst, false);
+        return written + transferBlockByBlock(src, encodedDataBlockSize, dst, plainDataBlockSize, false);
+    }
+
+    private int transfer(ByteBuffer src, int len, ByteBuffer dst, boolean encode) {
+        if (len == 0) {
+            return 0;
+        }
+
+        int srcPosition = src.position();
+        int dstPosition = dst.position();
+
+        int written;
+        if (src.hasArray() && dst.hasArray()) {
+            byte[] srcArray = src.array();
+            int srcOffset = src.arrayOffset() + srcPosition;
+            byte[] dstArray = dst.array();
+            int dstOffset = dst.arrayOffset() + dstPosition;
+
+            written = encode
+                    ? encode(srcArray, srcOffset, len, dstArray, dstOffset)
+                    : decode(srcArray, srcOffset, len, dstArray, dstOffset);
+        } else {
+            written = encode
+                    ? encode(src, srcPosition, len, dst, dstPosition)
+                    : decode(src, srcPosition, len, dst, dstPosition);
+        }
+
+        src.position(srcPosition + len);
+        dst.position(dstPosition + written);
+        return written;
+    }
+
+    /**
+     * Transfer the blocks that the bulk path could not take: the incomplete last block,
+     * and blocks whose result may still fit in dst because they contain padding.
+     */
+    private int transferBlockByBlock(
+            ByteBuffer src,
+            int inBlockSize,
+            ByteBuffer dst,
+            int outBlockSize,
+            boolean encode
+    ) {
+        if (!src.hasRemaining()) {
+            return 0;
+        }
+
+        byte[] in = new byte[inBlockSize];
+        byte[] out = new byte[outBlockSize];
+
+        int written = 0;
+        while (src.hasRemaining()) {
+            int srcPosition = src.position();
+            int len = Math.min(inBlockSize, src.remaining());
+            for (int i = 0; i < len; i++) {
+                in[i] = src.get(srcPosition + i);
+            }
+
+            int outLength = encode
+                    ? encode(in, 0, len, out, 0)
+                    : decode(in, 0, len, out, 0);
+            if (outLength > dst.remaining()) {
+                break;
+            }
+
+            src.position(srcPosition + len);
+            dst.put(out, 0, outLength);
+            written += outLength;
+        }
+        return written;
+    }
+
+    void encode(Path in, Path out) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("in must not be null.");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("out must not be null.");
+        }
+
+        try (FileChannel src = FileChannel.open(in, StandardOpenOption.READ);
+             FileChannel dst = openForMapping(out)) {
+            long size = src.size();
+            long windowSize = (long) (MAPPED_WINDOW_SIZE / encodedDataBlockSize) * plainDataBlockSize;
+
+            long dstPosition = 0;
+            for (long srcPosition = 0; srcPosition < size; srcPosition += windowSize) {
+                long len = Math.min(windowSize, size - srcPosition);
+                long encodedLength = (len + plainDataBlockSize - 1) / plainDataBlockSize * encodedDataBlockSize;
+
+                MappedByteBuffer srcBuffer = src.map(FileChannel.MapMode.READ_ONLY, srcPosition, len);
+                MappedByteBuffer dstBuffer = dst.map(FileChannel.MapMode.READ_WRITE, dstPosition, encodedLength);
+                dstPosition += encode(srcBuffer, dstBuffer);
+            }
+        }
+    }
+
+    void decode(Path in, Path out) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("in must not be null.");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("out must not be null.");
+        }
+
+        try (FileChannel src = FileChannel.open(in, StandardOpenOption.READ);
+             FileChannel dst = openForMapping(out)) {
+            long size = src.size();
+            if (size == 0) {
+                return;
+            }
+
+            // Every block but the last one decodes to a full plain data block,
+            // so the last block alone determines the size of the result.
+            int lastBlockLength = (int) (size % encodedDataBlockSize);
+            if (lastBlockLength == 0) {
+                lastBlockLength = encodedDataBlockSize;
+            }
+            ByteBuffer lastBlock = ByteBuffer.allocate(lastBlockLength);
+            while (lastBlock.hasRemaining()) {
+                if (src.read(lastBlock, size - lastBlockLength + lastBlock.position()) < 0) {
+                    throw new IOException("Unexpected end of file.");
+                }
+            }
+            byte[] lastBlockDecoded = new byte[plainDataBlockSize];
+            long decodedSize = (size - lastBlockLength) / encodedDataBlockSize * plainDataBlockSize
+                    + decode(lastBlock.array(), 0, lastBlockLength, lastBlockDecoded, 0);
+
+            long windowSize = (long) (MAPPED_WINDOW_SIZE / encodedDataBlockSize) * encodedDataBlockSize;
+
+            long dstPosition = 0;
+            for (long srcPosition = 0; srcPosition < size; srcPosition += windowSize) {
+                long len = Math.min(windowSize, size - srcPosition);
+                long decodedLength = (srcPosition + len < size)
+                        ? len / encodedDataBlockSize * plainDataBlockSize
+                        : decodedSize - dstPosition;
+
+                MappedByteBuffer srcBuffer = src.map(FileChannel.MapMode.READ_ONLY, srcPosition, len);
+                MappedByteBuffer dstBuffer = dst.map(FileChannel.MapMode.READ_WRITE, dstPosition, decodedLength);
+                dstPosition += decode(srcBuffer, dstBuffer);
+            }
+
+            if (dstPosition < decodedSize) {
+                // Padding in the middle of the data ends a block early.
+                dst.truncate(dstPosition);
+            }
+        }
+    }
+
+    private static FileChannel openForMapping(Path path) throws IOException {
+        // READ is required to map the channel in READ_WRITE mode.
+        return FileChannel.open(path,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+/**
+ * Select the engine of each alphabet for the running JVM.
+ * <p>
+ * This is the Java 8 version, which uses the scalar engines as they are.
+ * The versions of this class in META-INF/versions of the JAR replace them with
+ * faster engines when the running JVM supports them.
+ */
+final class CodecEngines {
+
+    private CodecEngines() {
+    }
+
+    static CodecEngine base64(CodecEngine scalar, byte[] tableEncode) {
+        return scalar;
+    }
+
+    static CodecEngine base32(CodecEngine scalar, byte[] tableEncode) {
+        return scalar;
+    }
+
+    static CodecEngine base16(CodecEngine scalar) {
+        return scalar;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream that reads encoded data from the underlying stream and returns the decoded data.
+ * <p>
+ * The encoded data is read into a block-aligned buffer and decoded on demand,
+ * so memory usage does not depend on the size of the data.
+ */
+class DecodingInputStream extends FilterInputStream {
+
+    private final CodecEngine engine;
+
+    private final byte[] encodedData;
+    // Number of bytes of an incomplete block in encodedData.
+    private int encodedCount = 0;
+
+    private final byte[] plainData;
+    private int plainPosition = 0;
+    private int plainLimit = 0;
+
+    private boolean endOfInput = false;
+    private boolean closed = false;
+
+    DecodingInputStream(CodecEngine engine, InputStream inputStream) {
+        super(inputStream);
+
+        if (inputStream == null) {
+            throw new IllegalArgumentException("inputStream must not be null.");
+        }
+
+        this.engine = engine;
+
+        int blocks = CodecEngine.STREAM_BUFFER_SIZE / engine.encodedDataBlockSize;
+        this.encodedData = new byte[engine.encodedDataBlockSize * blocks];
+        this.plainData = new byte[engine.plainDataBlockSize * blocks];
+    }
+
+    @Override
+    public int read() throws IOException {
+        ensureOpen();
+
+        if (!fill()) {
+            return -1;
+        }
+        return plainData[plainPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+
+        if (b == null) {
+            throw new NullPointerException();
+        }
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        if (!fill()) {
+            return -1;
+        }
+
+        int readLength = Math.min(len, plainLimit - plainPosition);
+        System.arraycopy(plainData, plainPosition, b, off, readLength);
+        plainPosition += readLength;
+        return readLength;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        ensureOpen();
+
+        if (n <= 0) {
+            return 0;
+        }
+
+        long remaining = n;
+        while (remaining > 0 && fill()) {
+            int skipLength = (int) Math.min(remaining, plainLimit - plainPosition);
+            plainPosition += skipLength;
+            remaining -= skipLength;
+        }
+        return n - remaining;
+    }
+
+    /**
+     * Return the number of decoded bytes that can be read without blocking.
+     * <p>
+     * Only the data already decoded is counted. A PAD can end the data in any block
+     * of the underlying stream, so its encoded bytes do not tell how many bytes follow.
+     */
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+
+        return plainLimit - plainPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        in.close();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported.");
+    }
+
+    /**
+     * Decode more data if all decoded data has been read.
+     *
+     * @return false if the end of the data has been reached
+     */
+    private boolean fill() throws IOException {
+        while (plainPosition == plainLimit) {
+            if (endOfInput) {
+                return false;
+            }
+
+            plainPosition = 0;
+            plainLimit = 0;
+
+            int len = in.read(encodedData, encodedCount, encodedData.length - encodedCount);
+            if (len < 0) {
+                endOfInput = true;
+                plainLimit = (encodedCount > 0)
+                        ? engine.decode(encodedData, 0, encodedCount, plainData, 0)
+                        : 0;
+                encodedCount = 0;
+                continue;
+            }
+
+            int available = encodedCount + len;
+            int alignedLength = available - available % engine.encodedDataBlockSize;
+
+            plainLimit = engine.decode(encodedData, 0, alignedLength, plainData, 0);
+
+            encodedCount = available - alignedLength;
+            System.arraycopy(encodedData, alignedLength, encodedData, 0, encodedCount);
+        }
+        return true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed.");
+        }
+    }
+}
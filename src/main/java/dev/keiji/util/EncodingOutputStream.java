@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * OutputStream that encodes the written data and writes the result to the underlying stream.
+ * <p>
+ * Complete blocks are encoded as the internal buffer fills up. The last incomplete block
+ * is encoded with padding on {@link #close()}.
+ */
+class EncodingOutputStream extends FilterOutputStream {
+
+    private final CodecEngine engine;
+
+    private final byte[] plainData;
+    private final byte[] encodedData;
+
+    // Number of bytes in plainData.
+    private int count = 0;
+
+    private boolean closed = false;
+
+    EncodingOutputStream(CodecEngine engine, OutputStream outputStream) {
+        super(outputStream);
+
+        if (outputStream == null) {
+            throw new IllegalArgumentException("outputStream must not be null.");
+        }
+
+        this.engine = engine;
+
+        int blocks = CodecEngine.STREAM_BUFFER_SIZE / engine.encodedDataBlockSize;
+        this.plainData = new byte[engine.plainDataBlockSize * blocks];
+        this.encodedData = new byte[engine.encodedDataBlockSize * blocks];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+
+        plainData[count++] = (byte) b;
+        if (count == plainData.length) {
+            encodeBuffer();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+
+        if (b == null) {
+            throw new NullPointerException();
+        }
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        while (len > 0) {
+            if (count == 0 && len >= plainData.length) {
+                // Nothing is buffered, so encode straight from the caller's array.
+                int written = engine.encode(b, off, plainData.length, encodedData, 0);
+                out.write(encodedData, 0, written);
+
+                off += plainData.length;
+                len -= plainData.length;
+                continue;
+            }
+
+            int copyLength = Math.min(len, plainData.length - count);
+            System.arraycopy(b, off, plainData, count, copyLength);
+            count += copyLength;
+            off += copyLength;
+            len -= copyLength;
+
+            if (count == plainData.length) {
+                encodeBuffer();
+            }
+        }
+    }
+
+    /**
+     * Encode the complete blocks in the internal buffer, and flush the underlying stream.
+     * <p>
+     * The last incomplete block stays in the buffer, so flushing never inserts padding.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+
+        encodeBuffer();
+        out.flush();
+    }
+
+    /**
+     * Encode the remaining data with padding, and close the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (count > 0) {
+                int written = engine.encode(plainData, 0, count, encodedData, 0);
+                out.write(encodedData, 0, written);
+                count = 0;
+            }
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void encodeBuffer() throws IOException {
+        int alignedLength = count - count % engine.plainDataBlockSize;
+        if (alignedLength == 0) {
+            return;
+        }
+
+        int written = engine.encode(plainData, 0, alignedLength, encodedData, 0);
+        out.write(encodedData, 0, written);
+
+        count -= alignedLength;
+        System.arraycopy(plainData, alignedLength, plainData, 0, count);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed.");
+        }
+    }
+}
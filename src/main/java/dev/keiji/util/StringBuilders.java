@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+/**
+ * Append ASCII data in byte arrays to StringBuilders.
+ * <p>
+ * This is the Java 8 version. A StringBuilder holds chars, so the data is widened into a per-thread
+ * char array and copied in at once. The version of this class in META-INF/versions/9 of the JAR
+ * appends it as a String, which a compact StringBuilder copies as it is.
+ */
+final class StringBuilders {
+
+    private StringBuilders() {
+    }
+
+    /**
+     * Append the first len bytes of ascii to out. len is at most {@link CodecEngine#SCRATCH_BUFFER_SIZE}.
+     */
+    static void appendAscii(StringBuilder out, byte[] ascii, int len) {
+        char[] chars = CodecEngine.SCRATCH_CHARS.get();
+        for (int i = 0; i < len; i++) {
+            chars[i] = (char) ascii[i];
+        }
+        out.append(chars, 0, len);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Base16 engine that encodes and decodes with the Vector API.
+ * <p>
+ * Each byte of input is copied to both bytes of a 2-byte lane by a shuffle, split into its two nibbles
+ * with shifts, and translated to the alphabet by range. Decoding does the reverse.
+ */
+final class Base16VectorEngine extends VectorCodecEngine {
+
+    // Half a vector of bytes, which is the input of an encoding step and the output of a decoding step.
+    private static final VectorSpecies<Byte> HALF_SPECIES = VectorSpecies.of(
+            byte.class, VectorShape.forBitSize(SPECIES.vectorBitSize() / 2));
+
+    // Put each byte of the first half of a vector into both bytes of a lane.
+    private static final VectorShuffle<Byte> SHUFFLE_ENCODE = createEncodeShuffle();
+
+    Base16VectorEngine(CodecEngine scalar) {
+        super(scalar);
+    }
+
+    private static VectorShuffle<Byte> createEncodeShuffle() {
+        int[] indexes = new int[SPECIES.length()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i / 2;
+        }
+        return VectorShuffle.fromArray(SPECIES, indexes, 0);
+    }
+
+    @Override
+    int encodeVectors(byte[] src, int srcOffset, int srcEnd, byte[] dst, int dstOffset) {
+        int srcIndex = srcOffset;
+        int dstIndex = dstOffset;
+
+        // A step reads a whole vector, so stop while a vector still fits in src.
+        int vectorEnd = srcEnd - SPECIES.length();
+        while (srcIndex <= vectorEnd) {
+            ShortVector value = ByteVector.fromArray(SPECIES, src, srcIndex)
+                    .rearrange(SHUFFLE_ENCODE)
+                    .reinterpretAsShorts();
+
+            // The high nibble goes to the first character, which is the lower byte of the lane.
+            ShortVector nibbles = value.lanewise(VectorOperators.LSHR, 4).and((short) 0xF)
+                    .or(value.and((short) 0xF00));
+
+            toAscii(nibbles.reinterpretAsBytes()).intoArray(dst, dstIndex);
+
+            srcIndex += HALF_SPECIES.length();
+            dstIndex += SPECIES.length();
+        }
+
+        return srcIndex - srcOffset;
+    }
+
+    /**
+     * Translate each nibble to its character.
+     */
+    private static ByteVector toAscii(ByteVector nibbles) {
+        ByteVector result = nibbles.add((byte) '0');
+        return result.blend(nibbles.add((byte) ('A' - 10)), nibbles.compare(VectorOperators.GE, (byte) 10));
+    }
+
+    @Override
+    int decode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        // The scalar engine checks the length before anything else.
+        if (len % encodedDataBlockSize != 0) {
+            throw new IllegalArgumentException("Input data length must be divisible by 2.");
+        }
+        return super.decode(src, srcOffset, len, dst, dstOffset);
+    }
+
+    /**
+     * Decode the vectors of src from srcOffset until a vector contains a character that is not in the alphabet.
+     */
+    @Override
+    int decodeVectors(byte[] src, int srcOffset, int srcEnd, byte[] dst, int dstOffset) {
+        int srcIndex = srcOffset;
+        int dstIndex = dstOffset;
+
+        int vectorEnd = srcEnd - SPECIES.length();
+        while (srcIndex <= vectorEnd) {
+            ByteVector values = toValues(ByteVector.fromArray(SPECIES, src, srcIndex));
+            if (values.compare(VectorOperators.LT, (byte) 0).anyTrue()) {
+                break;
+            }
+
+            ShortVector nibbles = values.reinterpretAsShorts();
+            ShortVector value = nibbles.lanewise(VectorOperators.LSHL, 4).and((short) 0xF0)
+                    .or(nibbles.lanewise(VectorOperators.LSHR, 8));
+
+            ByteVector decoded = (ByteVector) value.convertShape(VectorOperators.S2B, HALF_SPECIES, 0);
+            decoded.intoArray(dst, dstIndex);
+
+            srcIndex += SPECIES.length();
+            dstIndex += HALF_SPECIES.length();
+        }
+
+        return srcIndex - srcOffset;
+    }
+
+    /**
+     * Translate each character to its 4-bit value. Invalid and non-ASCII characters become -1.
+     */
+    private static ByteVector toValues(ByteVector chars) {
+        ByteVector result = ByteVector.broadcast(SPECIES, (byte) -1);
+
+        ByteVector offset = chars.sub((byte) '0');
+        result = result.blend(offset, offset.compare(VectorOperators.UNSIGNED_LT, (byte) 10));
+        offset = chars.sub((byte) 'A');
+        result = result.blend(offset.add((byte) 10), offset.compare(VectorOperators.UNSIGNED_LT, (byte) 6));
+        return result;
+    }
+}
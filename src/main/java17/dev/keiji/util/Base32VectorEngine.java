@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+
+/**
+ * Base32 engine that encodes and decodes with the Vector API.
+ * <p>
+ * Every 5 bytes of input are spread over an 8-byte lane by a shuffle, split into eight 5-bit
+ * indexes with shifts, and translated to the alphabet by range. Decoding does the reverse.
+ */
+final class Base32VectorEngine extends VectorCodecEngine {
+
+    private static final int PLAIN_DATA_BLOCK_SIZE = 5;
+    private static final int ENCODED_DATA_BLOCK_SIZE = 8;
+
+    // Bytes of input consumed by a step. A step loads a whole vector but uses 5 bytes of every 8.
+    private static final int PLAIN_STEP = SPECIES.length() / ENCODED_DATA_BLOCK_SIZE * PLAIN_DATA_BLOCK_SIZE;
+
+    // Put the bytes b0 to b4 of each block into a lane as b4 to b0,
+    // so that the lane read as a little-endian long is the 40-bit value of the block.
+    private static final VectorShuffle<Byte> SHUFFLE_ENCODE = createEncodeShuffle();
+
+    // Bytes of output written by a decoding step.
+    private static final int DECODED_STEP = PLAIN_STEP;
+
+    // Take the bytes b4 to b0 of the 40-bit value in each lane, and pack them in the order of the output.
+    private static final VectorShuffle<Byte> SHUFFLE_DECODE = createDecodeShuffle();
+
+    // Both alphabets are two ranges of characters: [0, split) from first, and [split, 32) from second.
+    private final byte first;
+    private final byte second;
+    private final byte split;
+
+    Base32VectorEngine(CodecEngine scalar, byte[] tableEncode) {
+        super(scalar);
+
+        int index = 1;
+        while (tableEncode[index] == tableEncode[0] + index) {
+            index++;
+        }
+        this.first = tableEncode[0];
+        this.second = tableEncode[index];
+        this.split = (byte) index;
+    }
+
+    private static VectorShuffle<Byte> createEncodeShuffle() {
+        // The upper 3 bytes of each lane are not used.
+        int[] indexes = new int[SPECIES.length()];
+        for (int i = 0; i < indexes.length; i++) {
+            int block = i / ENCODED_DATA_BLOCK_SIZE * PLAIN_DATA_BLOCK_SIZE;
+            int position = i % ENCODED_DATA_BLOCK_SIZE;
+            indexes[i] = (position < PLAIN_DATA_BLOCK_SIZE) ? block + PLAIN_DATA_BLOCK_SIZE - 1 - position : block;
+        }
+        return VectorShuffle.fromArray(SPECIES, indexes, 0);
+    }
+
+    private static VectorShuffle<Byte> createDecodeShuffle() {
+        // The lanes after the decoded bytes are not used.
+        int[] indexes = new int[SPECIES.length()];
+        for (int i = 0; i < DECODED_STEP; i++) {
+            int block = i / PLAIN_DATA_BLOCK_SIZE * ENCODED_DATA_BLOCK_SIZE;
+            indexes[i] = block + PLAIN_DATA_BLOCK_SIZE - 1 - i % PLAIN_DATA_BLOCK_SIZE;
+        }
+        return VectorShuffle.fromArray(SPECIES, indexes, 0);
+    }
+
+    @Override
+    int encodeVectors(byte[] src, int srcOffset, int srcEnd, byte[] dst, int dstOffset) {
+        int srcIndex = srcOffset;
+        int dstIndex = dstOffset;
+
+        // A step reads a whole vector, so stop while a vector still fits in src.
+        int vectorEnd = srcEnd - SPECIES.length();
+        while (srcIndex <= vectorEnd) {
+            LongVector value = ByteVector.fromArray(SPECIES, src, srcIndex)
+                    .rearrange(SHUFFLE_ENCODE)
+                    .reinterpretAsLongs();
+
+            // The eight indexes of a block, in the byte order of the output.
+            LongVector indexes = value.lanewise(VectorOperators.LSHR, 35).and(0x1FL)
+                    .or(value.lanewise(VectorOperators.LSHR, 22).and(0x1FL << 8))
+                    .or(value.lanewise(VectorOperators.LSHR, 9).and(0x1FL << 16))
+                    .or(value.lanewise(VectorOperators.LSHL, 4).and(0x1FL << 24))
+                    .or(value.lanewise(VectorOperators.LSHL, 17).and(0x1FL << 32))
+                    .or(value.lanewise(VectorOperators.LSHL, 30).and(0x1FL << 40))
+                    .or(value.lanewise(VectorOperators.LSHL, 43).and(0x1FL << 48))
+                    .or(value.lanewise(VectorOperators.LSHL, 56).and(0x1FL << 56));
+
+            toAscii(indexes.reinterpretAsBytes()).intoArray(dst, dstIndex);
+
+            srcIndex += PLAIN_STEP;
+            dstIndex += SPECIES.length();
+        }
+
+        return srcIndex - srcOffset;
+    }
+
+    /**
+     * Translate each 5-bit index to its character.
+     */
+    private ByteVector toAscii(ByteVector indexes) {
+        ByteVector result = indexes.add(first);
+        return result.blend(indexes.add((byte) (second - split)), indexes.compare(VectorOperators.GE, split));
+    }
+
+    /**
+     * Decode the vectors of src from srcOffset as long as the vector after each one is also valid.
+     * <p>
+     * A step stores a whole vector, so it writes past its output. The next vector is valid,
+     * so whoever decodes it overwrites those bytes, and nothing is written past the output of the data.
+     */
+    @Override
+    int decodeVectors(byte[] src, int srcOffset, int srcEnd, byte[] dst, int dstOffset) {
+        int srcIndex = srcOffset;
+        int dstIndex = dstOffset;
+
+        if (srcEnd - srcIndex < SPECIES.length() * 2) {
+            return 0;
+        }
+        ByteVector values = toValues(ByteVector.fromArray(SPECIES, src, srcIndex));
+        if (values.compare(VectorOperators.LT, (byte) 0).anyTrue()) {
+            return 0;
+        }
+
+        int vectorEnd = srcEnd - SPECIES.length() * 2;
+        while (srcIndex <= vectorEnd) {
+            ByteVector next = toValues(ByteVector.fromArray(SPECIES, src, srcIndex + SPECIES.length()));
+            if (next.compare(VectorOperators.LT, (byte) 0).anyTrue()) {
+                break;
+            }
+
+            LongVector value = values.reinterpretAsLongs();
+
+            // The 40-bit value of each block from its eight 5-bit values.
+            LongVector block = value.lanewise(VectorOperators.LSHL, 35).and(0x1FL << 35)
+                    .or(value.lanewise(VectorOperators.LSHL, 22).and(0x1FL << 30))
+                    .or(value.lanewise(VectorOperators.LSHL, 9).and(0x1FL << 25))
+                    .or(value.lanewise(VectorOperators.LSHR, 4).and(0x1FL << 20))
+                    .or(value.lanewise(VectorOperators.LSHR, 17).and(0x1FL << 15))
+                    .or(value.lanewise(VectorOperators.LSHR, 30).and(0x1FL << 10))
+                    .or(value.lanewise(VectorOperators.LSHR, 43).and(0x1FL << 5))
+                    .or(value.lanewise(VectorOperators.LSHR, 56));
+
+            block.reinterpretAsBytes()
+                    .rearrange(SHUFFLE_DECODE)
+                    .intoArray(dst, dstIndex);
+
+            srcIndex += SPECIES.length();
+            dstIndex += DECODED_STEP;
+            values = next;
+        }
+
+        return srcIndex - srcOffset;
+    }
+
+    /**
+     * Translate each character to its 5-bit value. PAD, invalid and non-ASCII characters become -1.
+     */
+    private ByteVector toValues(ByteVector chars) {
+        ByteVector result = ByteVector.broadcast(SPECIES, (byte) -1);
+
+        ByteVector offset = chars.sub(first);
+        result = result.blend(offset, offset.compare(VectorOperators.UNSIGNED_LT, split));
+        offset = chars.sub(second);
+        result = result.blend(offset.add(split), offset.compare(VectorOperators.UNSIGNED_LT, (byte) (32 - split)));
+        return result;
+    }
+}
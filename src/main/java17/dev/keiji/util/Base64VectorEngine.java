@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+
+/**
+ * Base64 engine that encodes and decodes with the Vector API.
+ * <p>
+ * Every 3 bytes of input are spread over a 4-byte lane by a shuffle, split into four 6-bit
+ * indexes with shifts, and translated to the alphabet by range. Decoding does the reverse.
+ */
+final class Base64VectorEngine extends VectorCodecEngine {
+
+    private static final int PLAIN_DATA_BLOCK_SIZE = 3;
+    private static final int ENCODED_DATA_BLOCK_SIZE = 4;
+
+    // Bytes of input consumed by a step. A step loads a whole vector but uses 3 bytes of every 4.
+    private static final int PLAIN_STEP = SPECIES.length() / ENCODED_DATA_BLOCK_SIZE * PLAIN_DATA_BLOCK_SIZE;
+
+    // Put the bytes b0, b1, b2 of each block into a lane as b2, b1, b0,
+    // so that the lane read as a little-endian int is the 24-bit value of the block.
+    private static final VectorShuffle<Byte> SHUFFLE_ENCODE = createEncodeShuffle();
+
+    // Bytes of output written by a decoding step.
+    private static final int DECODED_STEP = PLAIN_STEP;
+
+    // Take the bytes b2, b1, b0 of the 24-bit value in each lane, and pack them in the order of the output.
+    private static final VectorShuffle<Byte> SHUFFLE_DECODE = createDecodeShuffle();
+
+    private final byte char62;
+    private final byte char63;
+
+    Base64VectorEngine(CodecEngine scalar, byte[] tableEncode) {
+        super(scalar);
+        this.char62 = tableEncode[62];
+        this.char63 = tableEncode[63];
+    }
+
+    private static VectorShuffle<Byte> createEncodeShuffle() {
+        int[] indexes = new int[SPECIES.length()];
+        for (int i = 0; i < indexes.length; i += ENCODED_DATA_BLOCK_SIZE) {
+            int block = i / ENCODED_DATA_BLOCK_SIZE * PLAIN_DATA_BLOCK_SIZE;
+            indexes[i] = block + 2;
+            indexes[i + 1] = block + 1;
+            indexes[i + 2] = block;
+            indexes[i + 3] = block;
+        }
+        return VectorShuffle.fromArray(SPECIES, indexes, 0);
+    }
+
+    private static VectorShuffle<Byte> createDecodeShuffle() {
+        // The lanes after the decoded bytes are not used.
+        int[] indexes = new int[SPECIES.length()];
+        for (int i = 0; i < DECODED_STEP; i++) {
+            int block = i / PLAIN_DATA_BLOCK_SIZE * ENCODED_DATA_BLOCK_SIZE;
+            indexes[i] = block + PLAIN_DATA_BLOCK_SIZE - 1 - i % PLAIN_DATA_BLOCK_SIZE;
+        }
+        return VectorShuffle.fromArray(SPECIES, indexes, 0);
+    }
+
+    @Override
+    int encodeVectors(byte[] src, int srcOffset, int srcEnd, byte[] dst, int dstOffset) {
+        int srcIndex = srcOffset;
+        int dstIndex = dstOffset;
+
+        // A step reads a whole vector, so stop while a vector still fits in src.
+        int vectorEnd = srcEnd - SPECIES.length();
+        while (srcIndex <= vectorEnd) {
+            IntVector value = ByteVector.fromArray(SPECIES, src, srcIndex)
+                    .rearrange(SHUFFLE_ENCODE)
+                    .reinterpretAsInts();
+
+            // The four indexes of a block, in the byte order of the output.
+            IntVector indexes = value.lanewise(VectorOperators.LSHR, 18).and(0x3F)
+                    .or(value.lanewise(VectorOperators.LSHR, 4).and(0x3F00))
+                    .or(value.lanewise(VectorOperators.LSHL, 10).and(0x3F0000))
+                    .or(value.lanewise(VectorOperators.LSHL, 24).and(0x3F000000));
+
+            toAscii(indexes.reinterpretAsBytes()).intoArray(dst, dstIndex);
+
+            srcIndex += PLAIN_STEP;
+            dstIndex += SPECIES.length();
+        }
+
+        return srcIndex - srcOffset;
+    }
+
+    /**
+     * Translate each 6-bit index to its character. The alphabets differ only in the last two characters.
+     */
+    private ByteVector toAscii(ByteVector indexes) {
+        ByteVector result = indexes.add((byte) 'A');
+        result = result.blend(indexes.add((byte) ('a' - 26)), indexes.compare(VectorOperators.GE, (byte) 26));
+        result = result.blend(indexes.add((byte) ('0' - 52)), indexes.compare(VectorOperators.GE, (byte) 52));
+        result = result.blend(char62, indexes.compare(VectorOperators.EQ, (byte) 62));
+        result = result.blend(char63, indexes.compare(VectorOperators.EQ, (byte) 63));
+        return result;
+    }
+
+    /**
+     * Decode the vectors of src from srcOffset as long as the vector after each one is also valid.
+     * <p>
+     * A step stores a whole vector, so it writes past its output. The next vector is valid,
+     * so whoever decodes it overwrites those bytes, and nothing is written past the output of the data.
+     */
+    @Override
+    int decodeVectors(byte[] src, int srcOffset, int srcEnd, byte[] dst, int dstOffset) {
+        int srcIndex = srcOffset;
+        int dstIndex = dstOffset;
+
+        if (srcEnd - srcIndex < SPECIES.length() * 2) {
+            return 0;
+        }
+        ByteVector values = toValues(ByteVector.fromArray(SPECIES, src, srcIndex));
+        if (values.compare(VectorOperators.LT, (byte) 0).anyTrue()) {
+            return 0;
+        }
+
+        int vectorEnd = srcEnd - SPECIES.length() * 2;
+        while (srcIndex <= vectorEnd) {
+            ByteVector next = toValues(ByteVector.fromArray(SPECIES, src, srcIndex + SPECIES.length()));
+            if (next.compare(VectorOperators.LT, (byte) 0).anyTrue()) {
+                break;
+            }
+
+            IntVector value = values.reinterpretAsInts();
+
+            // The 24-bit value of each block from its four 6-bit values.
+            IntVector block = value.lanewise(VectorOperators.LSHL, 18).and(0xFC0000)
+                    .or(value.lanewise(VectorOperators.LSHL, 4).and(0x3F000))
+                    .or(value.lanewise(VectorOperators.LSHR, 10).and(0xFC0))
+                    .or(value.lanewise(VectorOperators.LSHR, 24));
+
+            block.reinterpretAsBytes()
+                    .rearrange(SHUFFLE_DECODE)
+                    .intoArray(dst, dstIndex);
+
+            srcIndex += SPECIES.length();
+            dstIndex += DECODED_STEP;
+            values = next;
+        }
+
+        return srcIndex - srcOffset;
+    }
+
+    /**
+     * Translate each character to its 6-bit value. PAD, invalid and non-ASCII characters become -1.
+     */
+    private ByteVector toValues(ByteVector chars) {
+        ByteVector result = ByteVector.broadcast(SPECIES, (byte) -1);
+
+        ByteVector offset = chars.sub((byte) 'A');
+        result = result.blend(offset, offset.compare(VectorOperators.UNSIGNED_LT, (byte) 26));
+        offset = chars.sub((byte) 'a');
+        result = result.blend(offset.add((byte) 26), offset.compare(VectorOperators.UNSIGNED_LT, (byte) 26));
+        offset = chars.sub((byte) '0');
+        result = result.blend(offset.add((byte) 52), offset.compare(VectorOperators.UNSIGNED_LT, (byte) 10));
+        result = result.blend((byte) 62, chars.compare(VectorOperators.EQ, char62));
+        result = result.blend((byte) 63, chars.compare(VectorOperators.EQ, char63));
+        return result;
+    }
+}
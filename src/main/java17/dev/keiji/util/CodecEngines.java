@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Select the engine of each alphabet for the running JVM.
+ * <p>
+ * This is the Java 17 version. The engines that use the Vector API are selected only if
+ * the jdk.incubator.vector module is in the boot layer (e.g. {@code --add-modules jdk.incubator.vector}),
+ * and the system property {@code dev.keiji.util.vector} is not {@code false}.
+ * Otherwise the scalar engines are used as they are.
+ */
+final class CodecEngines {
+
+    static final String VECTOR_PROPERTY = "dev.keiji.util.vector";
+
+    private static final boolean VECTOR_AVAILABLE = isVectorAvailable(
+            System.getProperty(VECTOR_PROPERTY), ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+
+    private CodecEngines() {
+    }
+
+    static CodecEngine base64(CodecEngine scalar, byte[] tableEncode) {
+        if (!VECTOR_AVAILABLE) {
+            return scalar;
+        }
+        return verified(scalar, () -> new Base64VectorEngine(scalar, tableEncode));
+    }
+
+    static CodecEngine base32(CodecEngine scalar, byte[] tableEncode) {
+        if (!VECTOR_AVAILABLE) {
+            return scalar;
+        }
+        return verified(scalar, () -> new Base32VectorEngine(scalar, tableEncode));
+    }
+
+    static CodecEngine base16(CodecEngine scalar) {
+        if (!VECTOR_AVAILABLE) {
+            return scalar;
+        }
+        return verified(scalar, () -> new Base16VectorEngine(scalar));
+    }
+
+    /**
+     * Return true if the vector engines can be used.
+     *
+     * @param property       the value of the system property {@code dev.keiji.util.vector}, or null if it is not set
+     * @param moduleResolved true if the jdk.incubator.vector module is in the boot layer
+     */
+    static boolean isVectorAvailable(String property, boolean moduleResolved) {
+        if (property != null && !Boolean.parseBoolean(property)) {
+            return false;
+        }
+        return moduleResolved;
+    }
+
+    /**
+     * Create the vector engine and check it against the scalar engine. The incubator API
+     * changes between JDK releases, so the scalar engine is used if the vector engine
+     * cannot be linked or does not give the same result.
+     */
+    static CodecEngine verified(CodecEngine scalar, Supplier<CodecEngine> supplier) {
+        try {
+            CodecEngine engine = supplier.get();
+
+            byte[] plain = new byte[1024 + 7];
+            for (int i = 0; i < plain.length; i++) {
+                plain[i] = (byte) (i * 31 + 7);
+            }
+            int encodedSize = (plain.length + scalar.plainDataBlockSize - 1)
+                    / scalar.plainDataBlockSize * scalar.encodedDataBlockSize;
+
+            byte[] expected = new byte[encodedSize];
+            int expectedLength = scalar.encode(plain, 0, plain.length, expected, 0);
+            byte[] actual = new byte[encodedSize];
+            int actualLength = engine.encode(plain, 0, plain.length, actual, 0);
+            if (expectedLength != actualLength || !Arrays.equals(expected, actual)) {
+                return scalar;
+            }
+
+            byte[] decoded = new byte[plain.length];
+            int decodedLength = engine.decode(expected, 0, expectedLength, decoded, 0);
+            if (decodedLength != plain.length || !Arrays.equals(plain, decoded)) {
+                return scalar;
+            }
+
+            Arrays.fill(decoded, (byte) 0);
+            decodedLength = engine.decode(CodecEngine.toAsciiString(expected), 0, expectedLength, decoded, 0);
+            if (decodedLength != plain.length || !Arrays.equals(plain, decoded)) {
+                return scalar;
+            }
+
+            return engine;
+        } catch (LinkageError | RuntimeException e) {
+            return scalar;
+        }
+    }
+}
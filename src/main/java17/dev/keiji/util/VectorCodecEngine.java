@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Base of the engines that encode and decode with the Vector API.
+ * <p>
+ * Subclasses convert whole vectors of data. Everything the vectors do not cover,
+ * the tail of the data, vectors that contain PAD or an invalid character, and ByteBuffers,
+ * is left to the scalar engine, so the results and errors are the same.
+ */
+abstract class VectorCodecEngine extends CodecEngine {
+
+    static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    final CodecEngine scalar;
+
+    VectorCodecEngine(CodecEngine scalar) {
+        super(scalar.plainDataBlockSize, scalar.encodedDataBlockSize);
+        this.scalar = scalar;
+    }
+
+    /**
+     * Encode the vectors of src in [srcOffset, srcEnd) into dst, and return the number of bytes consumed.
+     * The number is a multiple of the block size.
+     */
+    abstract int encodeVectors(byte[] src, int srcOffset, int srcEnd, byte[] dst, int dstOffset);
+
+    /**
+     * Decode the vectors of src in [srcOffset, srcEnd) into dst until a vector contains a character
+     * that is not in the alphabet, and return the number of bytes consumed.
+     * The number is a multiple of the block size.
+     * <p>
+     * An implementation may write past its output only if the data after it is complete blocks
+     * of the alphabet, so that decoding them overwrites those bytes.
+     */
+    abstract int decodeVectors(byte[] src, int srcOffset, int srcEnd, byte[] dst, int dstOffset);
+
+    @Override
+    int encode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        int consumed = encodeVectors(src, srcOffset, srcOffset + len, dst, dstOffset);
+        int written = consumed / plainDataBlockSize * encodedDataBlockSize;
+
+        return written + scalar.encode(src, srcOffset + consumed, len - consumed, dst, dstOffset + written);
+    }
+
+    @Override
+    int decode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+        int srcIndex = srcOffset;
+        int srcEnd = srcOffset + len;
+        int dstIndex = dstOffset;
+
+        while (srcEnd - srcIndex >= SPECIES.length() * 2) {
+            int consumed = decodeVectors(src, srcIndex, srcEnd, dst, dstIndex);
+            srcIndex += consumed;
+            dstIndex += consumed / encodedDataBlockSize * plainDataBlockSize;
+
+            // The next two vectors contain a character that is not in the alphabet, or end the data.
+            // Blocks are decoded independently, so leave them to the scalar engine and go on.
+            int scalarLength = Math.min(SPECIES.length() * 2, srcEnd - srcIndex);
+            dstIndex += scalar.decode(src, srcIndex, scalarLength, dst, dstIndex);
+            srcIndex += scalarLength;
+        }
+
+        return dstIndex - dstOffset + scalar.decode(src, srcIndex, srcEnd - srcIndex, dst, dstIndex);
+    }
+
+    @Override
+    int decode(CharSequence src, int start, int end, byte[] dst, int dstOffset) {
+        int index = start;
+        int dstIndex = dstOffset;
+
+        byte[] chunk = SCRATCH_BUFFER.get();
+        while (end - index >= SPECIES.length() * 2) {
+            int chunkLength = Math.min(chunk.length, end - index);
+            for (int i = 0; i < chunkLength; i++) {
+                // Characters out of ISO-8859-1 become '?', which is in none of the alphabets.
+                char key = src.charAt(index + i);
+                chunk[i] = (byte) ((key <= 0xFF) ? key : '?');
+            }
+
+            int consumed = decodeVectors(chunk, 0, chunkLength, dst, dstIndex);
+            if (consumed == 0) {
+                break;
+            }
+            index += consumed;
+            dstIndex += consumed / encodedDataBlockSize * plainDataBlockSize;
+        }
+
+        // Decoding may stop at the first PAD, so the rest is left to the scalar engine as a whole.
+        return dstIndex - dstOffset + scalar.decode(src, index, end, dst, dstIndex);
+    }
+
+    @Override
+    int encode(ByteBuffer src, int srcIndex, int len, ByteBuffer dst, int dstIndex) {
+        return scalar.encode(src, srcIndex, len, dst, dstIndex);
+    }
+
+    @Override
+    int decode(ByteBuffer src, int srcIndex, int len, ByteBuffer dst, int dstIndex) {
+        return scalar.decode(src, srcIndex, len, dst, dstIndex);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Read and write big-endian values in byte arrays.
+ * <p>
+ * This is the Java 9 version. The VarHandle views compile to a single load or store,
+ * which the JIT does not make of the byte-by-byte accesses of the Java 8 version.
+ */
+final class ByteArrays {
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private ByteArrays() {
+    }
+
+    /**
+     * Read the 48-bit value of the 6 bytes from index.
+     * The 8 bytes from index must be in src.
+     */
+    static long getLong48(byte[] src, int index) {
+        return (long) LONG.get(src, index) >>> 16;
+    }
+
+    /**
+     * Read the 40-bit value of the 5 bytes from index.
+     * The 8 bytes from index must be in src.
+     */
+    static long getLong40(byte[] src, int index) {
+        return (long) LONG.get(src, index) >>> 24;
+    }
+
+    /**
+     * Write four 16-bit values from index.
+     */
+    static void putShorts(byte[] dst, int index, int value0, int value1, int value2, int value3) {
+        long value = (value0 & 0xFFFFL) << 48
+                | (value1 & 0xFFFFL) << 32
+                | (value2 & 0xFFFFL) << 16
+                | (value3 & 0xFFFFL);
+        LONG.set(dst, index, value);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2021 ARIYAMA Keiji
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.keiji.util;
+
+/**
+ * Append ASCII data in byte arrays to StringBuilders.
+ * <p>
+ * This is the Java 9 version. A compact StringBuilder copies chars one by one, but copies
+ * the bytes of a Latin-1 String at once, so a String of each chunk is faster than a char array.
+ */
+final class StringBuilders {
+
+    private StringBuilders() {
+    }
+
+    /**
+     * Append the first len bytes of ascii to out. len is at most {@link CodecEngine#SCRATCH_BUFFER_SIZE}.
+     */
+    @SuppressWarnings("deprecation")
+    static void appendAscii(StringBuilder out, byte[] ascii, int len) {
+        out.append(new String(ascii, 0, 0, len));
+    }
+}
@@ -0,0 +1,143 @@
+package dev.keiji.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class AppendableEncodeTest {
+
+    @Test
+    public void encodeToStringBuilderTest() {
+        Random rand = new Random();
+
+        // Larger than the per-thread buffer, so that the data is appended in chunks.
+        for (int size : new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 127, 1024, 4096 + rand.nextInt(4096)}) {
+            byte[] testData = new byte[size + 5];
+            rand.nextBytes(testData);
+            byte[] data = Arrays.copyOfRange(testData, 3, 3 + size);
+
+            StringBuilder sb = new StringBuilder("#");
+            Assertions.assertEquals(Base64.encodedLength(size), Base64.encodeTo(testData, 3, size, sb));
+            Assertions.assertEquals(Base64.encodedLength(size), Base64.encodeUrlSafeTo(testData, 3, size, sb));
+            Assertions.assertEquals(Base32.encodedLength(size), Base32.encodeTo(testData, 3, size, sb));
+            Assertions.assertEquals(Base32.encodedLength(size), Base32.encodeExtendedHexTo(testData, 3, size, sb));
+            Assertions.assertEquals(Base16.encodedLength(size), Base16.encodeTo(testData, 3, size, sb));
+
+            String expected = "#" + Base64.encode(data) + Base64.encodeUrlSafe(data)
+                    + Base32.encode(data) + Base32.encodeExtendedHex(data) + Base16.encode(data);
+            Assertions.assertEquals(expected, sb.toString());
+        }
+    }
+
+    @Test
+    public void encodeToAppendableTest() throws IOException {
+        Random rand = new Random();
+
+        for (int size : new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 127, 1024, 4096 + rand.nextInt(4096)}) {
+            byte[] testData = new byte[size + 5];
+            rand.nextBytes(testData);
+            byte[] data = Arrays.copyOfRange(testData, 3, 3 + size);
+
+            String expected = "#" + Base64.encode(data) + Base64.encodeUrlSafe(data)
+                    + Base32.encode(data) + Base32.encodeExtendedHex(data) + Base16.encode(data);
+
+            for (Appendable out : new Appendable[]{new StringBuilder(), new StringWriter(), new StringBuffer()}) {
+                out.append('#');
+                Base64.encodeTo(testData, 3, size, out);
+                Base64.encodeUrlSafeTo(testData, 3, size, out);
+                Base32.encodeTo(testData, 3, size, out);
+                Base32.encodeExtendedHexTo(testData, 3, size, out);
+                Base16.encodeTo(testData, 3, size, out);
+
+                Assertions.assertEquals(expected, out.toString());
+            }
+        }
+    }
+
+    @Test
+    public void encodeToAppendableTestRetained() throws IOException {
+        byte[] testData = new byte[6000];
+        new Random().nextBytes(testData);
+
+        // An Appendable that keeps the CharSequences it is given, larger than one chunk.
+        RetainingAppendable base64 = new RetainingAppendable();
+        Base64.encodeTo(testData, 0, testData.length, base64);
+        Assertions.assertEquals(Base64.encode(testData), base64.toString());
+
+        RetainingAppendable base32 = new RetainingAppendable();
+        Base32.encodeTo(testData, 0, testData.length, base32);
+        Assertions.assertEquals(Base32.encode(testData), base32.toString());
+
+        RetainingAppendable base16 = new RetainingAppendable();
+        Base16.encodeTo(testData, 0, testData.length, base16);
+        Assertions.assertEquals(Base16.encode(testData), base16.toString());
+        Assertions.assertTrue(base16.parts.size() > 1);
+    }
+
+    @Test
+    public void encodeToTestException0() {
+        try {
+            Base64.encodeTo(new byte[3], 0, 3, (StringBuilder) null);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void encodeToTestException1() throws IOException {
+        try {
+            Base32.encodeTo(null, 0, 0, (Appendable) new StringWriter());
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void encodeToTestException2() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            Base16.encodeTo(new byte[4], 3, 2, sb);
+            Assertions.fail();
+        } catch (IndexOutOfBoundsException exception) {
+            System.out.println(exception.getMessage());
+        }
+        Assertions.assertEquals(0, sb.length());
+    }
+
+    private static final class RetainingAppendable implements Appendable {
+        private final List<CharSequence> parts = new ArrayList<>();
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            parts.add(csq);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            return append(csq.subSequence(start, end));
+        }
+
+        @Override
+        public Appendable append(char c) {
+            return append(String.valueOf(c));
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (CharSequence part : parts) {
+                sb.append(part);
+            }
+            return sb.toString();
+        }
+    }
+}
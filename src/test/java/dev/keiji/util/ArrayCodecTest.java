@@ -0,0 +1,304 @@
+package dev.keiji.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+public class ArrayCodecTest {
+
+    @Test
+    public void encodedLengthTest() {
+        for (int size = 0; size < 64; size++) {
+            byte[] testData = new byte[size];
+
+            Assertions.assertEquals(Base64.encode(testData).length(), Base64.encodedLength(size));
+            Assertions.assertEquals(Base32.encode(testData).length(), Base32.encodedLength(size));
+            Assertions.assertEquals(Base16.encode(testData).length(), Base16.encodedLength(size));
+        }
+    }
+
+    @Test
+    public void encodedLengthTestException0() {
+        try {
+            Base64.encodedLength(-1);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void encodedLengthTestException1() {
+        try {
+            Base16.encodedLength(Integer.MAX_VALUE);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void encodeToByteArrayTest() {
+        Random rand = new Random();
+
+        for (int size : new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 127, 1024, 4096 + rand.nextInt(4096)}) {
+            byte[] testData = new byte[size + 5];
+            rand.nextBytes(testData);
+            byte[] data = Arrays.copyOfRange(testData, 3, 3 + size);
+
+            assertEncodedBytes(Base64.encode(data), Base64.encodedLength(size),
+                    dst -> Base64.encode(testData, 3, size, dst, 7));
+            assertEncodedBytes(Base64.encodeUrlSafe(data), Base64.encodedLength(size),
+                    dst -> Base64.encodeUrlSafe(testData, 3, size, dst, 7));
+            assertEncodedBytes(Base32.encode(data), Base32.encodedLength(size),
+                    dst -> Base32.encode(testData, 3, size, dst, 7));
+            assertEncodedBytes(Base32.encodeExtendedHex(data), Base32.encodedLength(size),
+                    dst -> Base32.encodeExtendedHex(testData, 3, size, dst, 7));
+            assertEncodedBytes(Base16.encode(data), Base16.encodedLength(size),
+                    dst -> Base16.encode(testData, 3, size, dst, 7));
+        }
+    }
+
+    @Test
+    public void encodeToCharArrayTest() {
+        Random rand = new Random();
+
+        // Larger than the per-thread buffer, so that the data is encoded in chunks.
+        for (int size : new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 127, 1024, 4096 + rand.nextInt(4096)}) {
+            byte[] testData = new byte[size + 5];
+            rand.nextBytes(testData);
+            byte[] data = Arrays.copyOfRange(testData, 3, 3 + size);
+
+            assertEncodedChars(Base64.encode(data), Base64.encodedLength(size),
+                    dst -> Base64.encode(testData, 3, size, dst, 7));
+            assertEncodedChars(Base64.encodeUrlSafe(data), Base64.encodedLength(size),
+                    dst -> Base64.encodeUrlSafe(testData, 3, size, dst, 7));
+            assertEncodedChars(Base32.encode(data), Base32.encodedLength(size),
+                    dst -> Base32.encode(testData, 3, size, dst, 7));
+            assertEncodedChars(Base32.encodeExtendedHex(data), Base32.encodedLength(size),
+                    dst -> Base32.encodeExtendedHex(testData, 3, size, dst, 7));
+            assertEncodedChars(Base16.encode(data), Base16.encodedLength(size),
+                    dst -> Base16.encode(testData, 3, size, dst, 7));
+        }
+    }
+
+    @Test
+    public void encodeToArrayTestException0() {
+        try {
+            Base64.encode(null, 0, 0, new byte[4], 0);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void encodeToArrayTestException1() {
+        try {
+            Base32.encode(new byte[5], 0, 5, (char[]) null, 0);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void encodeToArrayTestException2() {
+        // dst has no room for the padding.
+        byte[] dst = new byte[7];
+        try {
+            Base64.encode(new byte[4], 0, 4, dst, 0);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+        Assertions.assertArrayEquals(new byte[7], dst);
+    }
+
+    @Test
+    public void encodeToArrayTestException3() {
+        try {
+            Base16.encode(new byte[4], 2, 3, new char[8], 0);
+            Assertions.fail();
+        } catch (IndexOutOfBoundsException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void encodeToArrayTestException4() {
+        try {
+            Base32.encodeExtendedHex(new byte[5], 0, 5, new byte[8], -1);
+            Assertions.fail();
+        } catch (IndexOutOfBoundsException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodedLengthTest() {
+        for (int size = 0; size < 64; size++) {
+            byte[] testData = new byte[size];
+
+            Assertions.assertEquals(size, Base64.decodedLength(Base64.encode(testData)));
+            Assertions.assertEquals(size, Base64.decodedLength(Base64.encodeUrlSafe(testData).replace("=", "")));
+            Assertions.assertEquals(size, Base32.decodedLength(Base32.encode(testData)));
+            Assertions.assertEquals(size, Base32.decodedLength(new StringBuilder(Base32.encodeExtendedHex(testData))));
+            Assertions.assertEquals(size, Base16.decodedLength(Base16.encode(testData)));
+        }
+    }
+
+    @Test
+    public void decodedLengthTestException0() {
+        try {
+            Base16.decodedLength(null);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeFromCharSequenceTest() {
+        Random rand = new Random();
+
+        // Larger than the per-thread buffer, so that the data is decoded in chunks.
+        for (int size : new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 127, 1024, 4096 + rand.nextInt(4096)}) {
+            byte[] data = new byte[size];
+            rand.nextBytes(data);
+
+            assertDecoded(data, Base64.encode(data), Base64::decode);
+            assertDecoded(data, Base64.encodeUrlSafe(data), Base64::decodeUrlSafe);
+            assertDecoded(data, Base64.encodeUrlSafe(data).replace("=", ""), Base64::decodeUrlSafe);
+            assertDecoded(data, Base32.encode(data), Base32::decode);
+            assertDecoded(data, Base32.encodeExtendedHex(data), Base32::decodeExtendedHex);
+            assertDecoded(data, Base16.encode(data), Base16::decode);
+        }
+    }
+
+    @Test
+    public void decodeFromCharSequenceTestPaddingInTheMiddle() {
+        byte[] dst = new byte[Base64.decodedLength("QQ==QUJD")];
+        Assertions.assertEquals(1, Base64.decode("QQ==QUJD", 0, 8, dst, 0));
+        Assertions.assertEquals('A', dst[0]);
+    }
+
+    @Test
+    public void decodeFromCharSequenceTestException0() {
+        try {
+            Base64.decode(null, 0, 0, new byte[3], 0);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeFromCharSequenceTestException1() {
+        try {
+            Base32.decode("MFRGGZDF", 0, 8, null, 0);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeFromCharSequenceTestException2() {
+        // dst has no room for the last byte.
+        byte[] dst = new byte[4];
+        try {
+            Base32.decode("MFRGGZDF", 0, 8, dst, 0);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+        Assertions.assertArrayEquals(new byte[4], dst);
+    }
+
+    @Test
+    public void decodeFromCharSequenceTestException3() {
+        try {
+            Base64.decode("QUJD", 0, 3, new byte[3], 0);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeFromCharSequenceTestException4() {
+        try {
+            Base16.decode("4142", 2, 4, new byte[2], 0);
+            Assertions.fail();
+        } catch (IndexOutOfBoundsException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeFromCharSequenceTestException5() {
+        try {
+            Base64.decodeUrlSafe(new StringBuilder("QU?D"), 0, 4, new byte[3], 0);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    private interface ByteArrayEncoder {
+        int encode(byte[] dst);
+    }
+
+    private interface CharArrayEncoder {
+        int encode(char[] dst);
+    }
+
+    private interface CharSequenceDecoder {
+        int decode(CharSequence src, int srcOffset, int len, byte[] dst, int dstOffset);
+    }
+
+    private static void assertDecoded(byte[] expected, String encoded, CharSequenceDecoder decoder) {
+        // Embedded in larger buffers of each kind.
+        String embedded = "###" + encoded + "#####";
+        for (CharSequence src : new CharSequence[]{embedded, new StringBuilder(embedded), CharBuffer.wrap(embedded)}) {
+            byte[] dst = new byte[expected.length + 9];
+            Arrays.fill(dst, (byte) '#');
+            int written = decoder.decode(src, 3, encoded.length(), dst, 7);
+
+            Assertions.assertEquals(expected.length, written);
+            Assertions.assertArrayEquals(expected, Arrays.copyOfRange(dst, 7, 7 + written));
+            for (int i = 0; i < dst.length; i++) {
+                if (i < 7 || i >= 7 + written) {
+                    Assertions.assertEquals((byte) '#', dst[i]);
+                }
+            }
+        }
+    }
+
+    private static void assertEncodedBytes(String expected, int encodedLength, ByteArrayEncoder encoder) {
+        Assertions.assertEquals(expected.length(), encodedLength);
+
+        byte[] dst = new byte[encodedLength + 9];
+        Arrays.fill(dst, (byte) '#');
+        int written = encoder.encode(dst);
+
+        Assertions.assertEquals(encodedLength, written);
+        Assertions.assertEquals("#######" + expected + "##", new String(dst, StandardCharsets.US_ASCII));
+    }
+
+    private static void assertEncodedChars(String expected, int encodedLength, CharArrayEncoder encoder) {
+        Assertions.assertEquals(expected.length(), encodedLength);
+
+        char[] dst = new char[encodedLength + 9];
+        Arrays.fill(dst, '#');
+        int written = encoder.encode(dst);
+
+        Assertions.assertEquals(encodedLength, written);
+        Assertions.assertEquals("#######" + expected + "##", new String(dst));
+    }
+}
@@ -0,0 +1,196 @@
+package dev.keiji.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+public class AsciiBytesCodecTest {
+
+    @Test
+    public void encodeToBytesTest() {
+        Random rand = new Random();
+
+        for (int size : new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 127, 1024, 4096 + rand.nextInt(4096)}) {
+            byte[] testData = new byte[size + 5];
+            rand.nextBytes(testData);
+            byte[] data = Arrays.copyOfRange(testData, 3, 3 + size);
+
+            Assertions.assertArrayEquals(ascii(Base64.encode(data)), Base64.encodeToBytes(data));
+            Assertions.assertArrayEquals(ascii(Base64.encode(data)), Base64.encodeToBytes(testData, 3, size));
+            Assertions.assertArrayEquals(ascii(Base64.encodeUrlSafe(data)), Base64.encodeUrlSafeToBytes(data));
+            Assertions.assertArrayEquals(ascii(Base64.encodeUrlSafe(data)), Base64.encodeUrlSafeToBytes(testData, 3, size));
+            Assertions.assertArrayEquals(ascii(Base32.encode(data)), Base32.encodeToBytes(data));
+            Assertions.assertArrayEquals(ascii(Base32.encode(data)), Base32.encodeToBytes(testData, 3, size));
+            Assertions.assertArrayEquals(ascii(Base32.encodeExtendedHex(data)), Base32.encodeExtendedHexToBytes(data));
+            Assertions.assertArrayEquals(ascii(Base32.encodeExtendedHex(data)),
+                    Base32.encodeExtendedHexToBytes(testData, 3, size));
+            Assertions.assertArrayEquals(ascii(Base16.encode(data)), Base16.encodeToBytes(data));
+            Assertions.assertArrayEquals(ascii(Base16.encode(data)), Base16.encodeToBytes(testData, 3, size));
+        }
+    }
+
+    @Test
+    public void decodeFromBytesTest() {
+        Random rand = new Random();
+
+        for (int size : new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 127, 1024, 4096 + rand.nextInt(4096)}) {
+            byte[] testData = new byte[size];
+            rand.nextBytes(testData);
+
+            byte[] base64 = Base64.encodeToBytes(testData);
+            Assertions.assertArrayEquals(testData, Base64.decodeFromBytes(base64));
+            Assertions.assertArrayEquals(testData, Base64.decodeFromBytes(embed(base64), 3, base64.length));
+
+            byte[] base64UrlSafe = ascii(Base64.encodeUrlSafe(testData).replace("=", ""));
+            Assertions.assertArrayEquals(testData, Base64.decodeUrlSafeFromBytes(base64UrlSafe));
+            Assertions.assertArrayEquals(testData,
+                    Base64.decodeUrlSafeFromBytes(embed(base64UrlSafe), 3, base64UrlSafe.length));
+
+            byte[] base32 = Base32.encodeToBytes(testData);
+            Assertions.assertArrayEquals(testData, Base32.decodeFromBytes(base32));
+            Assertions.assertArrayEquals(testData, Base32.decodeFromBytes(embed(base32), 3, base32.length));
+
+            byte[] base32ExtendedHex = Base32.encodeExtendedHexToBytes(testData);
+            Assertions.assertArrayEquals(testData, Base32.decodeExtendedHexFromBytes(base32ExtendedHex));
+            Assertions.assertArrayEquals(testData,
+                    Base32.decodeExtendedHexFromBytes(embed(base32ExtendedHex), 3, base32ExtendedHex.length));
+
+            byte[] base16 = Base16.encodeToBytes(testData);
+            Assertions.assertArrayEquals(testData, Base16.decodeFromBytes(base16));
+            Assertions.assertArrayEquals(testData, Base16.decodeFromBytes(embed(base16), 3, base16.length));
+        }
+    }
+
+    @Test
+    public void decodeFromBytesTestPaddingInTheMiddle() throws IOException {
+        // Same as the stream decoder, which decodes block by block.
+        byte[] input = ascii("QQ==QUJDQg==");
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Base64.decode(new ByteArrayInputStream(input), baos);
+
+        Assertions.assertArrayEquals(baos.toByteArray(), Base64.decodeFromBytes(input));
+    }
+
+    @Test
+    public void encodeToBytesTestException0() {
+        try {
+            Base64.encodeToBytes(null);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void encodeToBytesTestException1() {
+        try {
+            Base32.encodeToBytes(new byte[5], 1, 5);
+            Assertions.fail();
+        } catch (IndexOutOfBoundsException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeFromBytesTestException0() {
+        try {
+            Base16.decodeFromBytes(null);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeFromBytesTestException1() {
+        try {
+            Base64.decodeFromBytes(ascii("QUJD"), -1, 4);
+            Assertions.fail();
+        } catch (IndexOutOfBoundsException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeFromBytesTestException2() {
+        try {
+            Base32.decodeFromBytes(ascii("MFRGGZDF"), 0, 7);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeFromBytesTestException3() {
+        try {
+            Base64.decodeUrlSafeFromBytes(ascii("QU+D"));
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeFromBytesTestInvalidCharacter() {
+        // NUL and non-ASCII bytes are not in any alphabet, and both decoders reject them.
+        for (byte invalid : new byte[]{0, '!', (byte) 0x80, (byte) 0xFF}) {
+            for (int position = 0; position < 8; position++) {
+                byte[] base64 = ascii("QUJDQUJD");
+                base64[position] = invalid;
+                assertInvalid(() -> Base64.decodeFromBytes(base64), () -> Base64.decode(latin1(base64)));
+
+                byte[] base32 = ascii("MFRGGZDF");
+                base32[position] = invalid;
+                assertInvalid(() -> Base32.decodeFromBytes(base32), () -> Base32.decode(latin1(base32)));
+
+                byte[] base32ExtendedHex = ascii("C5H66P35");
+                base32ExtendedHex[position] = invalid;
+                assertInvalid(() -> Base32.decodeExtendedHexFromBytes(base32ExtendedHex),
+                        () -> Base32.decodeExtendedHex(latin1(base32ExtendedHex)));
+
+                byte[] base16 = ascii("41424344");
+                base16[position] = invalid;
+                assertInvalid(() -> Base16.decodeFromBytes(base16), () -> Base16.decode(latin1(base16)));
+            }
+        }
+    }
+
+    private static void assertInvalid(Runnable decodeFromBytes, Runnable decode) {
+        String message = null;
+        try {
+            decodeFromBytes.run();
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            message = exception.getMessage();
+        }
+        try {
+            decode.run();
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals(message, exception.getMessage());
+        }
+    }
+
+    private static String latin1(byte[] value) {
+        return new String(value, StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] embed(byte[] encoded) {
+        byte[] embedded = new byte[encoded.length + 6];
+        Arrays.fill(embedded, (byte) '?');
+        System.arraycopy(encoded, 0, embedded, 3, encoded.length);
+        return embedded;
+    }
+}
@@ -7,6 +7,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Random;
 
 public class Base16StreamTest {
 
@@ -209,4 +210,52 @@ public class Base16StreamTest {
             System.out.println(exception.getMessage());
         }
     }
+
+    @Test
+    public void encodeShortReadTest() throws IOException {
+        ByteArrayInputStream bais = new ShortReadInputStream(TEST_VECTOR5_DECODED);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Base16.encode(bais, baos);
+        Assertions.assertArrayEquals(TEST_VECTOR5_ENCODED, baos.toByteArray());
+    }
+
+    @Test
+    public void decodeShortReadTest() throws IOException {
+        ByteArrayInputStream bais = new ShortReadInputStream(TEST_VECTOR5_ENCODED);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Base16.decode(bais, baos);
+        Assertions.assertArrayEquals(TEST_VECTOR5_DECODED, baos.toByteArray());
+    }
+
+    @Test
+    public void randomLargeStreamTest() throws IOException {
+        Random rand = new Random();
+
+        byte[] testData = new byte[256 * 1024 + rand.nextInt(1024)];
+        rand.nextBytes(testData);
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        Base16.encode(new ShortReadInputStream(testData), encoded);
+        Assertions.assertEquals(Base16.encode(testData), encoded.toString("US-ASCII"));
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        Base16.decode(new ShortReadInputStream(encoded.toByteArray()), decoded);
+        Assertions.assertArrayEquals(testData, decoded.toByteArray());
+    }
+
+    /**
+     * Returns fewer bytes than requested, as sockets and pipes do.
+     */
+    private static class ShortReadInputStream extends ByteArrayInputStream {
+        private final Random rand = new Random();
+
+        ShortReadInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, 1 + rand.nextInt(7)));
+        }
+    }
 }
@@ -3,7 +3,12 @@ package dev.keiji.util;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Random;
 
 public class Base16Test {
 
@@ -152,4 +157,94 @@ public class Base16Test {
             System.out.println(exception.getMessage());
         }
     }
+
+    @Test
+    public void decodeTestInvalidCharacter() throws IOException {
+        Random rand = new Random();
+
+        // Three unrolled blocks of 8 characters and a remainder of 6.
+        byte[] data = new byte[15];
+        rand.nextBytes(data);
+        String encoded = Base16.encode(data);
+
+        char[] invalidChars = {'\0', '/', ':', '@', 'G', 'a', 'g', '=', '\u007F', '\u0080', '\u00FF', '\u0141'};
+        for (int position = 0; position < encoded.length(); position++) {
+            for (char invalid : invalidChars) {
+                StringBuilder sb = new StringBuilder(encoded);
+                sb.setCharAt(position, invalid);
+                String input = sb.toString();
+
+                try {
+                    Base16.decode(input);
+                    Assertions.fail();
+                } catch (IllegalArgumentException exception) {
+                    Assertions.assertTrue(exception.getMessage().startsWith("Invalid character"));
+                }
+
+                if (invalid > 0xFF) {
+                    continue;
+                }
+                byte[] bytes = input.getBytes(StandardCharsets.ISO_8859_1);
+
+                try {
+                    Base16.decodeFromBytes(bytes);
+                    Assertions.fail();
+                } catch (IllegalArgumentException exception) {
+                    Assertions.assertTrue(exception.getMessage().startsWith("Invalid character"));
+                }
+
+                try {
+                    Base16.decode(new ByteArrayInputStream(bytes), new ByteArrayOutputStream());
+                    Assertions.fail();
+                } catch (IllegalArgumentException exception) {
+                    Assertions.assertTrue(exception.getMessage().startsWith("Invalid character"));
+                }
+
+                try {
+                    Base16.decode(ByteBuffer.wrap(bytes), ByteBuffer.allocate(data.length));
+                    Assertions.fail();
+                } catch (IllegalArgumentException exception) {
+                    Assertions.assertTrue(exception.getMessage().startsWith("Invalid character"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void decodeTestLengths() {
+        Random rand = new Random();
+
+        // Every number of unrolled blocks and remainders up to four blocks.
+        for (int len = 0; len <= 16; len++) {
+            byte[] data = new byte[len];
+            rand.nextBytes(data);
+            String encoded = Base16.encode(data);
+            byte[] bytes = encoded.getBytes(StandardCharsets.US_ASCII);
+
+            Assertions.assertArrayEquals(data, Base16.decode(encoded));
+            Assertions.assertArrayEquals(data, Base16.decodeFromBytes(bytes));
+
+            // An odd length, one character short or over.
+            if (len > 0) {
+                assertOddLength(encoded.substring(1));
+            }
+            assertOddLength(encoded + "0");
+        }
+    }
+
+    private static void assertOddLength(String encoded) {
+        try {
+            Base16.decode(encoded);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Input string length must be divisible by 2.", exception.getMessage());
+        }
+
+        try {
+            Base16.decodeFromBytes(encoded.getBytes(StandardCharsets.US_ASCII));
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            Assertions.assertEquals("Input data length must be divisible by 2.", exception.getMessage());
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package dev.keiji.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class Base32FileTest {
+
+    private static final byte[] TEST_VECTOR5_DECODED = "fooba".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TEST_VECTOR5_ENCODED = "MZXW6YTB".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void encodeTest() throws IOException {
+        Path in = createTempFile(TEST_VECTOR5_DECODED);
+        Path out = createTempFile(new byte[0]);
+        try {
+            Base32.encode(in, out);
+            Assertions.assertArrayEquals(TEST_VECTOR5_ENCODED, Files.readAllBytes(out));
+        } finally {
+            Files.delete(in);
+            Files.delete(out);
+        }
+    }
+
+    @Test
+    public void decodeTest() throws IOException {
+        Path in = createTempFile(TEST_VECTOR5_ENCODED);
+        Path out = createTempFile(new byte[0]);
+        try {
+            Base32.decode(in, out);
+            Assertions.assertArrayEquals(TEST_VECTOR5_DECODED, Files.readAllBytes(out));
+        } finally {
+            Files.delete(in);
+            Files.delete(out);
+        }
+    }
+
+    @Test
+    public void emptyFileTest() throws IOException {
+        Path in = createTempFile(new byte[0]);
+        Path out = createTempFile("stale".getBytes(StandardCharsets.US_ASCII));
+        try {
+            Base32.encode(in, out);
+            Assertions.assertEquals(0, Files.size(out));
+
+            Base32.decode(in, out);
+            Assertions.assertEquals(0, Files.size(out));
+        } finally {
+            Files.delete(in);
+            Files.delete(out);
+        }
+    }
+
+    @Test
+    public void randomRoundTripTest() throws IOException {
+        Random rand = new Random();
+
+        byte[] testData = new byte[4 * 1024 * 1024 + rand.nextInt(1024)];
+        rand.nextBytes(testData);
+
+        Path plain = createTempFile(testData);
+        Path encoded = createTempFile(new byte[0]);
+        Path decoded = createTempFile(new byte[0]);
+        try {
+            Base32.encodeExtendedHex(plain, encoded);
+            Assertions.assertEquals(Base32.encodeExtendedHex(testData),
+                    new String(Files.readAllBytes(encoded), StandardCharsets.US_ASCII));
+
+            Base32.decodeExtendedHex(encoded, decoded);
+            Assertions.assertArrayEquals(testData, Files.readAllBytes(decoded));
+        } finally {
+            Files.delete(plain);
+            Files.delete(encoded);
+            Files.delete(decoded);
+        }
+    }
+
+    @Test
+    public void encodeTestException0() throws IOException {
+        Path out = createTempFile(new byte[0]);
+        try {
+            Base32.encode(null, out);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        } finally {
+            Files.delete(out);
+        }
+    }
+
+    private static Path createTempFile(byte[] data) throws IOException {
+        Path path = Files.createTempFile("rfc4648", ".tmp");
+        Files.write(path, data);
+        return path;
+    }
+}
@@ -3,7 +3,13 @@ package dev.keiji.util;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
 
 public class Base32Test {
 
@@ -161,4 +167,156 @@ public class Base32Test {
             System.out.println(exception.getMessage());
         }
     }
+
+    @Test
+    public void encodeTestLengths() {
+        Random rand = new Random();
+
+        // Every remainder of the wide loop, with the data at the end of the array so that no byte after it can be read.
+        for (int len = 0; len <= 48; len++) {
+            byte[] src = new byte[3 + len];
+            rand.nextBytes(src);
+            byte[] data = Arrays.copyOfRange(src, 3, src.length);
+            String expected = referenceEncode(data);
+
+            Assertions.assertEquals(expected, Base32.encode(data));
+            Assertions.assertArrayEquals(expected.getBytes(StandardCharsets.US_ASCII), Base32.encodeToBytes(src, 3, len));
+
+            byte[] dst = new byte[1 + expected.length()];
+            Assertions.assertEquals(expected.length(), Base32.encode(src, 3, len, dst, 1));
+            Assertions.assertEquals(expected, new String(dst, 1, expected.length(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void decodeTestInvalidCharacter() throws IOException {
+        Random rand = new Random();
+
+        // An invalid character at every position, which includes the switch from the block loop to the tail.
+        for (int len = 0; len <= 24; len++) {
+            byte[] data = new byte[len];
+            rand.nextBytes(data);
+            String encoded = Base32.encode(data);
+
+            for (int position = 0; position < encoded.length(); position++) {
+                if (encoded.charAt(position) == '=') {
+                    continue;
+                }
+                for (char invalid : new char[]{'\0', '!', '1', '\u0080', '\u00FF', '\u0141'}) {
+                    StringBuilder sb = new StringBuilder(encoded);
+                    sb.setCharAt(position, invalid);
+                    String input = sb.toString();
+
+                    try {
+                        Base32.decode(input);
+                        Assertions.fail();
+                    } catch (IllegalArgumentException exception) {
+                        Assertions.assertTrue(exception.getMessage().startsWith("Invalid character"));
+                    }
+
+                    if (invalid > 0xFF) {
+                        continue;
+                    }
+                    byte[] bytes = input.getBytes(StandardCharsets.ISO_8859_1);
+
+                    try {
+                        Base32.decodeFromBytes(bytes);
+                        Assertions.fail();
+                    } catch (IllegalArgumentException exception) {
+                        Assertions.assertTrue(exception.getMessage().startsWith("Invalid character"));
+                    }
+
+                    try {
+                        Base32.decode(new ByteArrayInputStream(bytes), new ByteArrayOutputStream());
+                        Assertions.fail();
+                    } catch (IllegalArgumentException exception) {
+                        Assertions.assertTrue(exception.getMessage().startsWith("Invalid character"));
+                    }
+
+                    try {
+                        Base32.decode(ByteBuffer.wrap(bytes), ByteBuffer.allocate(len));
+                        Assertions.fail();
+                    } catch (IllegalArgumentException exception) {
+                        Assertions.assertTrue(exception.getMessage().startsWith("Invalid character"));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void decodeTestPadding() throws IOException {
+        Random rand = new Random();
+
+        // PAD at every position, which includes the switch from the block loop to the tail.
+        for (int len = 0; len <= 24; len++) {
+            byte[] data = new byte[len];
+            rand.nextBytes(data);
+            String encoded = Base32.encode(data);
+
+            for (int position = 0; position < encoded.length(); position++) {
+                if (encoded.charAt(position) == '=') {
+                    continue;
+                }
+                StringBuilder sb = new StringBuilder(encoded);
+                sb.setCharAt(position, '=');
+                String input = sb.toString();
+                byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+
+                // Decoding a String stops at the first PAD.
+                Assertions.assertArrayEquals(Base32.decode(padded(input.substring(0, position))), Base32.decode(input));
+
+                // The other paths decode block by block, and the first PAD in a block ends the block.
+                ByteArrayOutputStream expected = new ByteArrayOutputStream();
+                for (int index = 0; index < input.length(); index += 8) {
+                    String block = input.substring(index, index + 8);
+                    int pad = block.indexOf('=');
+                    expected.write(Base32.decode((pad < 0) ? block : padded(block.substring(0, pad))));
+                }
+
+                Assertions.assertArrayEquals(expected.toByteArray(), Base32.decodeFromBytes(bytes));
+
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                Base32.decode(new ByteArrayInputStream(bytes), baos);
+                Assertions.assertArrayEquals(expected.toByteArray(), baos.toByteArray());
+
+                ByteBuffer dst = ByteBuffer.allocate(len);
+                Base32.decode(ByteBuffer.wrap(bytes), dst);
+                Assertions.assertArrayEquals(expected.toByteArray(), Arrays.copyOf(dst.array(), dst.position()));
+            }
+        }
+    }
+
+    /**
+     * Fill the last block of encoded with PAD.
+     */
+    private static String padded(String encoded) {
+        StringBuilder sb = new StringBuilder(encoded);
+        while (sb.length() % 8 != 0) {
+            sb.append('=');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Encode data bit by bit.
+     */
+    private static String referenceEncode(byte[] data) {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
+        StringBuilder sb = new StringBuilder();
+        int buffer = 0;
+        int bits = 0;
+        for (byte value : data) {
+            buffer = buffer << 8 | (value & 0xFF);
+            bits += 8;
+            while (bits >= 5) {
+                sb.append(alphabet.charAt(buffer >>> (bits - 5) & 0x1F));
+                bits -= 5;
+            }
+        }
+        if (bits > 0) {
+            sb.append(alphabet.charAt(buffer << (5 - bits) & 0x1F));
+        }
+        return padded(sb.toString());
+    }
 }
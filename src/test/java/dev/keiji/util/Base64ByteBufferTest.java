@@ -0,0 +1,132 @@
+package dev.keiji.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+public class Base64ByteBufferTest {
+
+    private static final byte[] TEST_VECTOR5_DECODED = "fooba".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TEST_VECTOR5_ENCODED = "Zm9vYmE=".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] TEST_VECTOR6_DECODED = "foobar".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TEST_VECTOR6_ENCODED = "Zm9vYmFy".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void encodeHeapTest() {
+        ByteBuffer src = ByteBuffer.wrap(TEST_VECTOR6_DECODED);
+        ByteBuffer dst = ByteBuffer.allocate(TEST_VECTOR6_ENCODED.length);
+
+        int written = Base64.encode(src, dst);
+
+        Assertions.assertEquals(TEST_VECTOR6_ENCODED.length, written);
+        Assertions.assertFalse(src.hasRemaining());
+        Assertions.assertArrayEquals(TEST_VECTOR6_ENCODED, dst.array());
+    }
+
+    @Test
+    public void encodeDirectTest() {
+        ByteBuffer src = ByteBuffer.allocateDirect(TEST_VECTOR5_DECODED.length);
+        src.put(TEST_VECTOR5_DECODED).flip();
+        ByteBuffer dst = ByteBuffer.allocateDirect(TEST_VECTOR5_ENCODED.length);
+
+        int written = Base64.encode(src, dst);
+
+        Assertions.assertEquals(TEST_VECTOR5_ENCODED.length, written);
+        Assertions.assertArrayEquals(TEST_VECTOR5_ENCODED, toByteArray(dst));
+    }
+
+    @Test
+    public void encodeRespectsPositionAndLimitTest() {
+        byte[] data = new byte[TEST_VECTOR6_DECODED.length + 4];
+        System.arraycopy(TEST_VECTOR6_DECODED, 0, data, 2, TEST_VECTOR6_DECODED.length);
+        ByteBuffer src = ByteBuffer.wrap(data, 2, TEST_VECTOR6_DECODED.length);
+        ByteBuffer dst = ByteBuffer.allocate(TEST_VECTOR6_ENCODED.length + 4);
+        dst.position(3);
+
+        Base64.encode(src, dst);
+
+        Assertions.assertEquals(2 + TEST_VECTOR6_DECODED.length, src.position());
+        Assertions.assertEquals(3 + TEST_VECTOR6_ENCODED.length, dst.position());
+        Assertions.assertArrayEquals(TEST_VECTOR6_ENCODED, Arrays.copyOfRange(dst.array(), 3, dst.position()));
+    }
+
+    @Test
+    public void decodeHeapTest() {
+        ByteBuffer src = ByteBuffer.wrap(TEST_VECTOR5_ENCODED);
+        ByteBuffer dst = ByteBuffer.allocate(TEST_VECTOR5_DECODED.length);
+
+        int written = Base64.decode(src, dst);
+
+        Assertions.assertEquals(TEST_VECTOR5_DECODED.length, written);
+        Assertions.assertFalse(src.hasRemaining());
+        Assertions.assertArrayEquals(TEST_VECTOR5_DECODED, dst.array());
+    }
+
+    @Test
+    public void decodeDirectTest() {
+        ByteBuffer src = ByteBuffer.allocateDirect(TEST_VECTOR6_ENCODED.length);
+        src.put(TEST_VECTOR6_ENCODED).flip();
+        ByteBuffer dst = ByteBuffer.allocateDirect(TEST_VECTOR6_DECODED.length);
+
+        int written = Base64.decode(src, dst);
+
+        Assertions.assertEquals(TEST_VECTOR6_DECODED.length, written);
+        Assertions.assertArrayEquals(TEST_VECTOR6_DECODED, toByteArray(dst));
+    }
+
+    @Test
+    public void decodeTestException0() {
+        ByteBuffer src = ByteBuffer.wrap("Zm9vYm.=".getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer dst = ByteBuffer.allocate(16);
+        try {
+            Base64.decode(src, dst);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void randomResumeTest() {
+        Random rand = new Random();
+
+        for (int i = 0; i < 256; i++) {
+            byte[] testData = new byte[rand.nextInt(1024)];
+            rand.nextBytes(testData);
+            byte[] encoded = Base64.encode(testData).getBytes(StandardCharsets.US_ASCII);
+
+            ByteBuffer src = ByteBuffer.allocateDirect(testData.length);
+            src.put(testData).flip();
+            ByteBuffer encodedBuffer = ByteBuffer.allocate(encoded.length);
+            while (src.hasRemaining()) {
+                ByteBuffer dst = ByteBuffer.allocateDirect(1 + rand.nextInt(16));
+                Base64.encode(src, dst);
+                dst.flip();
+                encodedBuffer.put(dst);
+            }
+            Assertions.assertArrayEquals(encoded, encodedBuffer.array());
+
+            encodedBuffer.flip();
+            ByteBuffer decodedBuffer = ByteBuffer.allocate(testData.length);
+            while (encodedBuffer.hasRemaining()) {
+                ByteBuffer dst = ByteBuffer.allocate(1 + rand.nextInt(16));
+                Base64.decode(encodedBuffer, dst);
+                dst.flip();
+                decodedBuffer.put(dst);
+            }
+            Assertions.assertArrayEquals(testData, decodedBuffer.array());
+        }
+    }
+
+    private static byte[] toByteArray(ByteBuffer buffer) {
+        buffer.flip();
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        return result;
+    }
+}
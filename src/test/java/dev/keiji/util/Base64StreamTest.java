@@ -7,6 +7,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Random;
 
 public class Base64StreamTest {
 
@@ -203,4 +204,86 @@ public class Base64StreamTest {
             System.out.println(exception.getMessage());
         }
     }
+
+    @Test
+    public void decodeTestException2() throws IOException {
+        ByteArrayInputStream bais = new ByteArrayInputStream(new byte[]{'Z', 'm', '9', 'v', 'Y', 'm', (byte) 0xE9, 'y'});
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        try {
+            Base64.decode(bais, baos);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeTestException3() throws IOException {
+        ByteArrayInputStream bais = new ByteArrayInputStream(new byte[]{'Z', 'm', '9', 'v', 'Y', 'm', 0, 'y'});
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        try {
+            Base64.decode(bais, baos);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeUrlSafePaddedTest() throws IOException {
+        ByteArrayInputStream bais = new ByteArrayInputStream(TEST_VECTOR5_ENCODED);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Base64.decodeUrlSafe(bais, baos);
+        Assertions.assertArrayEquals(TEST_VECTOR5_DECODED, baos.toByteArray());
+    }
+
+    @Test
+    public void encodeShortReadTest() throws IOException {
+        ByteArrayInputStream bais = new ShortReadInputStream(TEST_VECTOR5_DECODED);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Base64.encode(bais, baos);
+        Assertions.assertArrayEquals(TEST_VECTOR5_ENCODED, baos.toByteArray());
+    }
+
+    @Test
+    public void decodeShortReadTest() throws IOException {
+        ByteArrayInputStream bais = new ShortReadInputStream(TEST_VECTOR5_ENCODED);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Base64.decode(bais, baos);
+        Assertions.assertArrayEquals(TEST_VECTOR5_DECODED, baos.toByteArray());
+    }
+
+    @Test
+    public void randomLargeStreamTest() throws IOException {
+        Random rand = new Random();
+
+        byte[] testData = new byte[256 * 1024 + rand.nextInt(1024)];
+        rand.nextBytes(testData);
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        Base64.encode(new ShortReadInputStream(testData), encoded);
+        Assertions.assertEquals(Base64.encode(testData), encoded.toString("US-ASCII"));
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        Base64.decode(new ShortReadInputStream(encoded.toByteArray()), decoded);
+        Assertions.assertArrayEquals(testData, decoded.toByteArray());
+    }
+
+    /**
+     * Returns fewer bytes than requested, as sockets and pipes do.
+     */
+    private static class ShortReadInputStream extends ByteArrayInputStream {
+        private final Random rand = new Random();
+
+        ShortReadInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            return super.read(b, off, Math.min(len, 1 + rand.nextInt(7)));
+        }
+    }
 }
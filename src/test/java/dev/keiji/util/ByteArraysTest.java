@@ -0,0 +1,49 @@
+package dev.keiji.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class ByteArraysTest {
+
+    @Test
+    public void getLongTest() {
+        Random rand = new Random();
+        byte[] src = new byte[19];
+        rand.nextBytes(src);
+
+        // Every index where 8 bytes can be read, up to the end of the array.
+        for (int index = 0; index <= src.length - Long.BYTES; index++) {
+            long expected = 0;
+            for (int i = 0; i < 6; i++) {
+                expected = expected << 8 | (src[index + i] & 0xFF);
+            }
+            Assertions.assertEquals(expected, ByteArrays.getLong48(src, index));
+            Assertions.assertEquals(expected >>> 8, ByteArrays.getLong40(src, index));
+        }
+    }
+
+    @Test
+    public void putShortsTest() {
+        Random rand = new Random();
+
+        // Every index where 8 bytes can be written, up to the end of the array.
+        for (int index = 0; index <= 19 - Long.BYTES; index++) {
+            byte[] dst = new byte[19];
+            rand.nextBytes(dst);
+            byte[] expected = dst.clone();
+
+            int[] values = new int[4];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = rand.nextInt(1 << 16);
+                expected[index + i * 2] = (byte) (values[i] >>> 8);
+                expected[index + i * 2 + 1] = (byte) values[i];
+            }
+
+            ByteArrays.putShorts(dst, index, values[0], values[1], values[2], values[3]);
+            Assertions.assertArrayEquals(expected, dst, Arrays.toString(values) + " at " + index);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package dev.keiji.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+import java.util.Random;
+
+public class CharSequenceDecodeTest {
+
+    @Test
+    public void decodeCharSequenceTest() {
+        Random rand = new Random();
+
+        // Larger than the per-thread buffer, so that the vector engines decode in chunks.
+        for (int size : new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 127, 1024, 4096 + rand.nextInt(4096)}) {
+            byte[] testData = new byte[size];
+            rand.nextBytes(testData);
+
+            String base64 = Base64.encode(testData);
+            Assertions.assertArrayEquals(testData, Base64.decode(new StringBuilder(base64)));
+            Assertions.assertArrayEquals(testData, Base64.decode(CharBuffer.wrap(base64)));
+
+            String base64UrlSafe = Base64.encodeUrlSafe(testData);
+            Assertions.assertArrayEquals(testData, Base64.decodeUrlSafe(new StringBuilder(base64UrlSafe)));
+            Assertions.assertArrayEquals(testData, Base64.decodeUrlSafe(CharBuffer.wrap(base64UrlSafe)));
+
+            String base32 = Base32.encode(testData);
+            Assertions.assertArrayEquals(testData, Base32.decode(new StringBuilder(base32)));
+            Assertions.assertArrayEquals(testData, Base32.decode(CharBuffer.wrap(base32)));
+
+            String base32ExtendedHex = Base32.encodeExtendedHex(testData);
+            Assertions.assertArrayEquals(testData, Base32.decodeExtendedHex(new StringBuilder(base32ExtendedHex)));
+            Assertions.assertArrayEquals(testData, Base32.decodeExtendedHex(CharBuffer.wrap(base32ExtendedHex)));
+
+            String base16 = Base16.encode(testData);
+            Assertions.assertArrayEquals(testData, Base16.decode(new StringBuilder(base16)));
+            Assertions.assertArrayEquals(testData, Base16.decode(CharBuffer.wrap(base16)));
+        }
+    }
+
+    @Test
+    public void decodeRangeTest() {
+        Random rand = new Random();
+
+        for (int size : new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 127, 1024, 4096 + rand.nextInt(4096)}) {
+            byte[] testData = new byte[size];
+            rand.nextBytes(testData);
+
+            String base64 = Base64.encode(testData);
+            Assertions.assertArrayEquals(testData, Base64.decode(embed(base64), 5, 5 + base64.length()));
+
+            String base64UrlSafe = Base64.encodeUrlSafe(testData).replace("=", "");
+            Assertions.assertArrayEquals(testData,
+                    Base64.decodeUrlSafe(embed(base64UrlSafe), 5, 5 + base64UrlSafe.length()));
+
+            String base32 = Base32.encode(testData);
+            Assertions.assertArrayEquals(testData, Base32.decode(embed(base32), 5, 5 + base32.length()));
+
+            String base32ExtendedHex = Base32.encodeExtendedHex(testData);
+            Assertions.assertArrayEquals(testData,
+                    Base32.decodeExtendedHex(embed(base32ExtendedHex), 5, 5 + base32ExtendedHex.length()));
+
+            String base16 = Base16.encode(testData);
+            Assertions.assertArrayEquals(testData, Base16.decode(embed(base16), 5, 5 + base16.length()));
+        }
+    }
+
+    @Test
+    public void decodeRangeTestPaddingInTheMiddle() {
+        Assertions.assertArrayEquals(Base64.decode("QQ==QUJD"), Base64.decode(embed("QQ==QUJD"), 5, 13));
+        Assertions.assertArrayEquals(Base32.decode("ME======MFRGGZDF"), Base32.decode(embed("ME======MFRGGZDF"), 5, 21));
+    }
+
+    @Test
+    public void decodeRangeTestException0() {
+        try {
+            Base64.decode((CharSequence) null, 0, 0);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeRangeTestException1() {
+        try {
+            Base32.decode(new StringBuilder("MFRGGZDF"), 4, 12);
+            Assertions.fail();
+        } catch (IndexOutOfBoundsException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeRangeTestException2() {
+        try {
+            Base16.decode("4142", 3, 2);
+            Assertions.fail();
+        } catch (IndexOutOfBoundsException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeRangeTestException3() {
+        // The length of the range is checked, not the length of input.
+        try {
+            Base64.decode("QUJDQUJD", 1, 8);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeRangeTestException4() {
+        // The characters around the range are not read.
+        Assertions.assertArrayEquals(new byte[]{'A'}, Base16.decode("??41??", 2, 4));
+
+        try {
+            Base16.decode(new StringBuilder("41?A"), 0, 4);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    private static CharSequence embed(String encoded) {
+        return CharBuffer.wrap("#?=\u00E9\u0141" + encoded + "=?#");
+    }
+}
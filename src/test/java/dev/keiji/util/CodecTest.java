@@ -0,0 +1,274 @@
+package dev.keiji.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CodecTest {
+
+    @Test
+    public void sharedInstanceTest() {
+        Assertions.assertSame(Base64.standard(), Base64.standard());
+        Assertions.assertSame(Base64.urlSafe(), Base64.urlSafe());
+        Assertions.assertSame(Base32.standard(), Base32.standard());
+        Assertions.assertSame(Base32.extendedHex(), Base32.extendedHex());
+        Assertions.assertSame(Base16.upper(), Base16.upper());
+
+        Assertions.assertNotSame(Base64.standard(), Base64.urlSafe());
+        Assertions.assertNotSame(Base32.standard(), Base32.extendedHex());
+    }
+
+    @Test
+    public void encodeTest() throws IOException {
+        Random rand = new Random();
+
+        for (int size : new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 127, 1024, 4096 + rand.nextInt(4096)}) {
+            byte[] testData = new byte[size];
+            rand.nextBytes(testData);
+
+            assertEncode(Base64.encode(testData), Base64.standard(), testData);
+            assertEncode(Base64.encodeUrlSafe(testData), Base64.urlSafe(), testData);
+            assertEncode(Base32.encode(testData), Base32.standard(), testData);
+            assertEncode(Base32.encodeExtendedHex(testData), Base32.extendedHex(), testData);
+            assertEncode(Base16.encode(testData), Base16.upper(), testData);
+        }
+    }
+
+    @Test
+    public void decodeTest() throws IOException {
+        Random rand = new Random();
+
+        for (int size : new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 127, 1024, 4096 + rand.nextInt(4096)}) {
+            byte[] testData = new byte[size];
+            rand.nextBytes(testData);
+
+            assertDecode(testData, Base64.standard(), Base64.encode(testData));
+            assertDecode(testData, Base64.urlSafe(), Base64.encodeUrlSafe(testData));
+            assertDecode(testData, Base64.urlSafe(), Base64.encodeUrlSafe(testData).replace("=", ""));
+            assertDecode(testData, Base32.standard(), Base32.encode(testData));
+            assertDecode(testData, Base32.extendedHex(), Base32.encodeExtendedHex(testData));
+            assertDecode(testData, Base16.upper(), Base16.encode(testData));
+        }
+    }
+
+    @Test
+    public void concurrentTest() throws Exception {
+        Codec[] codecs = {Base64.standard(), Base64.urlSafe(), Base32.standard(), Base32.extendedHex(), Base16.upper()};
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int task = 0; task < 16; task++) {
+                long seed = task;
+                futures.add(executor.submit(() -> {
+                    Random rand = new Random(seed);
+                    for (int i = 0; i < 50; i++) {
+                        Codec codec = codecs[rand.nextInt(codecs.length)];
+                        byte[] testData = new byte[rand.nextInt(100 * 1024)];
+                        rand.nextBytes(testData);
+
+                        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+                        codec.encode(new ByteArrayInputStream(testData), encoded);
+                        Assertions.assertEquals(codec.encode(testData), encoded.toString("US-ASCII"));
+
+                        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+                        codec.decode(new ByteArrayInputStream(encoded.toByteArray()), decoded);
+                        Assertions.assertArrayEquals(testData, decoded.toByteArray());
+                        Assertions.assertArrayEquals(testData, codec.decode(encoded.toString("US-ASCII")));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void nestedStreamTest() throws IOException {
+        Random rand = new Random();
+        byte[] testData = new byte[200 * 1024];
+        rand.nextBytes(testData);
+        byte[] innerData = new byte[100 * 1024];
+        rand.nextBytes(innerData);
+
+        String innerEncoded = Base32.encode(innerData);
+
+        // The source stream decodes another stream on the same thread while the outer call is running.
+        InputStream source = new ByteArrayInputStream(testData) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                ByteArrayOutputStream inner = new ByteArrayOutputStream();
+                try {
+                    Base32.standard().decode(
+                            new ByteArrayInputStream(innerEncoded.getBytes(StandardCharsets.US_ASCII)), inner);
+                } catch (IOException exception) {
+                    throw new IllegalStateException(exception);
+                }
+                Assertions.assertArrayEquals(innerData, inner.toByteArray());
+                return super.read(b, off, len);
+            }
+        };
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        Base64.standard().encode(source, encoded);
+
+        Assertions.assertEquals(Base64.encode(testData), encoded.toString("US-ASCII"));
+    }
+
+    @Test
+    public void decodedLengthTest() {
+        Assertions.assertEquals(5, Base32.standard().decodedLength("MFRGGZDF"));
+        Assertions.assertEquals(1, Base64.standard().decodedLength("QQ=="));
+        Assertions.assertEquals(1, Base64.urlSafe().decodedLength("QQ"));
+        Assertions.assertEquals(2, Base16.upper().decodedLength("4142"));
+    }
+
+    @Test
+    public void decodedLengthTestIncomplete() {
+        // The instances and the static methods share the rule, which does not validate the length.
+        String base64 = Base64.encode(new byte[]{1, 2, 3, 4});
+        String base32 = Base32.encode(new byte[]{1, 2, 3, 4, 5, 6});
+        String base16 = Base16.encode(new byte[]{1, 2, 3});
+
+        for (int len = 0; len <= base64.length(); len++) {
+            String input = base64.substring(0, len);
+            Assertions.assertEquals(Base64.decodedLength(input), Base64.standard().decodedLength(input));
+            Assertions.assertEquals(Base64.decodedLength(input), Base64.urlSafe().decodedLength(input));
+        }
+        for (int len = 0; len <= base32.length(); len++) {
+            String input = base32.substring(0, len);
+            Assertions.assertEquals(Base32.decodedLength(input), Base32.standard().decodedLength(input));
+            Assertions.assertEquals(Base32.decodedLength(input), Base32.extendedHex().decodedLength(input));
+        }
+        for (int len = 0; len <= base16.length(); len++) {
+            String input = base16.substring(0, len);
+            Assertions.assertEquals(len / 2, Base16.decodedLength(input));
+            Assertions.assertEquals(len / 2, Base16.upper().decodedLength(input));
+        }
+
+        Assertions.assertEquals(4, Base32.standard().decodedLength("MFRGGZD"));
+        Assertions.assertEquals(1, Base16.upper().decodedLength("ABC"));
+    }
+
+    @Test
+    public void decodedLengthTestException0() {
+        try {
+            Base32.standard().decodedLength(null);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeTestException0() {
+        try {
+            Base64.standard().decode((CharSequence) null);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeTestException1() {
+        try {
+            Base64.standard().decode("QQ");
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void encodeTestException0() {
+        try {
+            Base16.upper().encode((byte[]) null);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    private static void assertEncode(String expected, Codec codec, byte[] data) throws IOException {
+        int len = data.length;
+
+        Assertions.assertEquals(expected.length(), codec.encodedLength(len));
+        Assertions.assertEquals(expected, codec.encode(data));
+        Assertions.assertEquals(expected, codec.encodeParallel(data));
+        Assertions.assertArrayEquals(expected.getBytes(StandardCharsets.US_ASCII), codec.encodeToBytes(data));
+
+        char[] chars = new char[codec.encodedLength(len)];
+        Assertions.assertEquals(chars.length, codec.encode(data, 0, len, chars, 0));
+        Assertions.assertEquals(expected, new String(chars));
+
+        StringBuilder sb = new StringBuilder();
+        codec.encodeTo(data, 0, len, sb);
+        Assertions.assertEquals(expected, sb.toString());
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        codec.encode(new ByteArrayInputStream(data), baos);
+        Assertions.assertEquals(expected, baos.toString("US-ASCII"));
+
+        ByteBuffer dst = ByteBuffer.allocate(codec.encodedLength(len));
+        codec.encode(ByteBuffer.wrap(data), dst);
+        Assertions.assertArrayEquals(expected.getBytes(StandardCharsets.US_ASCII), dst.array());
+
+        baos = new ByteArrayOutputStream();
+        try (OutputStream out = codec.wrap(baos)) {
+            out.write(data);
+        }
+        Assertions.assertEquals(expected, baos.toString("US-ASCII"));
+    }
+
+    private static void assertDecode(byte[] expected, Codec codec, String encoded) throws IOException {
+        byte[] ascii = encoded.getBytes(StandardCharsets.US_ASCII);
+
+        Assertions.assertEquals(expected.length, codec.decodedLength(encoded));
+        Assertions.assertArrayEquals(expected, codec.decode(encoded));
+        Assertions.assertArrayEquals(expected, codec.decode(new StringBuilder(encoded)));
+        Assertions.assertArrayEquals(expected, codec.decode("#" + encoded + "#", 1, encoded.length() + 1));
+        Assertions.assertArrayEquals(expected, codec.decodeParallel(encoded));
+        Assertions.assertArrayEquals(expected, codec.decodeFromBytes(ascii));
+
+        byte[] dst = new byte[expected.length + 2];
+        Assertions.assertEquals(expected.length, codec.decode(encoded, 0, encoded.length(), dst, 1));
+        Assertions.assertArrayEquals(expected, Arrays.copyOfRange(dst, 1, expected.length + 1));
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        codec.decode(new ByteArrayInputStream(ascii), baos);
+        Assertions.assertArrayEquals(expected, baos.toByteArray());
+
+        ByteBuffer buffer = ByteBuffer.allocate(expected.length);
+        codec.decode(ByteBuffer.wrap(ascii), buffer);
+        Assertions.assertArrayEquals(expected, buffer.array());
+
+        baos = new ByteArrayOutputStream();
+        try (InputStream in = codec.wrap(new ByteArrayInputStream(ascii))) {
+            byte[] buf = new byte[1024];
+            int len;
+            while ((len = in.read(buf)) >= 0) {
+                baos.write(buf, 0, len);
+            }
+        }
+        Assertions.assertArrayEquals(expected, baos.toByteArray());
+    }
+}
@@ -0,0 +1,151 @@
+package dev.keiji.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+public class DecodingInputStreamTest {
+
+    private static final byte[] TEST_VECTOR6_DECODED = "foobar".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void base64ReadTest() throws IOException {
+        InputStream inputStream = Base64.wrap(toInputStream("Zm9vYmFy"));
+        Assertions.assertArrayEquals(TEST_VECTOR6_DECODED, readAll(inputStream));
+    }
+
+    @Test
+    public void base32ReadTest() throws IOException {
+        InputStream inputStream = Base32.wrap(toInputStream("MZXW6YTBOI======"));
+        Assertions.assertArrayEquals(TEST_VECTOR6_DECODED, readAll(inputStream));
+    }
+
+    @Test
+    public void base16ReadTest() throws IOException {
+        InputStream inputStream = Base16.wrap(toInputStream("666F6F626172"));
+        Assertions.assertArrayEquals(TEST_VECTOR6_DECODED, readAll(inputStream));
+    }
+
+    @Test
+    public void singleByteReadTest() throws IOException {
+        InputStream inputStream = Base64.wrap(toInputStream("Zm9vYmE="));
+        Assertions.assertEquals('f', inputStream.read());
+        Assertions.assertEquals('o', inputStream.read());
+        Assertions.assertEquals('o', inputStream.read());
+        Assertions.assertEquals('b', inputStream.read());
+        Assertions.assertEquals('a', inputStream.read());
+        Assertions.assertEquals(-1, inputStream.read());
+    }
+
+    @Test
+    public void skipTest() throws IOException {
+        InputStream inputStream = Base32.wrapExtendedHex(toInputStream("CPNMUOJ1E8======"));
+        Assertions.assertEquals(4, inputStream.skip(4));
+        Assertions.assertEquals('a', inputStream.read());
+        Assertions.assertEquals(1, inputStream.skip(10));
+        Assertions.assertEquals(-1, inputStream.read());
+    }
+
+    @Test
+    public void skipTestNonPositive() throws IOException {
+        InputStream inputStream = Base64.wrap(toInputStream("Zm9vYmFy"));
+        Assertions.assertEquals(0, inputStream.skip(0));
+        Assertions.assertEquals(0, inputStream.skip(-5));
+        Assertions.assertEquals(0, inputStream.skip(Long.MIN_VALUE));
+        Assertions.assertEquals('f', inputStream.read());
+
+        readAll(inputStream);
+        Assertions.assertEquals(0, inputStream.skip(-1));
+    }
+
+    @Test
+    public void availableTest() throws IOException {
+        InputStream inputStream = Base64.wrap(toInputStream("Zm9vYmFyZm9vYmE="));
+
+        // Nothing is decoded before the first read.
+        Assertions.assertEquals(0, inputStream.available());
+
+        inputStream.read();
+        Assertions.assertEquals(10, inputStream.available());
+
+        readAll(inputStream);
+        Assertions.assertEquals(0, inputStream.available());
+    }
+
+    @Test
+    public void availableTestPaddingInTheMiddle() throws IOException {
+        // A padded block decodes to fewer bytes than a full one, wherever it is in the stream.
+        for (String input : new String[]{"QQ==QQ==QQ==QUJD", "QUJDQQ==QUJDQUJD"}) {
+            byte[] expected = readAll(Base64.wrap(toInputStream(input)));
+
+            InputStream inputStream = Base64.wrap(toInputStream(input));
+            int read = 0;
+            while (true) {
+                int available = inputStream.available();
+                Assertions.assertTrue(available <= expected.length - read, input + " " + available);
+                if (inputStream.read() < 0) {
+                    break;
+                }
+                read++;
+            }
+            Assertions.assertEquals(expected.length, read);
+        }
+    }
+
+    @Test
+    public void randomReadTest() throws IOException {
+        Random rand = new Random();
+
+        byte[] testData = new byte[256 * 1024 + rand.nextInt(1024)];
+        rand.nextBytes(testData);
+
+        Assertions.assertArrayEquals(testData, readAll(Base64.wrap(toInputStream(Base64.encode(testData)))));
+        Assertions.assertArrayEquals(testData, readAll(Base64.wrapUrlSafe(toInputStream(Base64.encodeUrlSafe(testData)))));
+        Assertions.assertArrayEquals(testData, readAll(Base32.wrap(toInputStream(Base32.encode(testData)))));
+        Assertions.assertArrayEquals(testData, readAll(Base32.wrapExtendedHex(toInputStream(Base32.encodeExtendedHex(testData)))));
+        Assertions.assertArrayEquals(testData, readAll(Base16.wrap(toInputStream(Base16.encode(testData)))));
+    }
+
+    @Test
+    public void readTestException0() throws IOException {
+        InputStream inputStream = Base64.wrap(toInputStream("Zm9vYm.="));
+        try {
+            readAll(inputStream);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void wrapTestException0() {
+        try {
+            Base64.wrap((InputStream) null);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    private static InputStream toInputStream(String encoded) {
+        return new ByteArrayInputStream(encoded.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        Random rand = new Random();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8 * 1024];
+        int len;
+        while ((len = inputStream.read(buffer, 0, 1 + rand.nextInt(buffer.length))) >= 0) {
+            baos.write(buffer, 0, len);
+        }
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,122 @@
+package dev.keiji.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+public class EncodingOutputStreamTest {
+
+    private static final byte[] TEST_VECTOR5_DECODED = "fooba".getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void base64WriteTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (OutputStream outputStream = Base64.wrap(baos)) {
+            for (byte b : TEST_VECTOR5_DECODED) {
+                outputStream.write(b);
+            }
+        }
+        Assertions.assertEquals("Zm9vYmE=", baos.toString("US-ASCII"));
+    }
+
+    @Test
+    public void base32WriteTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (OutputStream outputStream = Base32.wrap(baos)) {
+            outputStream.write(TEST_VECTOR5_DECODED, 0, 3);
+            outputStream.write(TEST_VECTOR5_DECODED, 3, 2);
+        }
+        Assertions.assertEquals("MZXW6YTB", baos.toString("US-ASCII"));
+    }
+
+    @Test
+    public void base16WriteTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (OutputStream outputStream = Base16.wrap(baos)) {
+            outputStream.write(TEST_VECTOR5_DECODED);
+        }
+        Assertions.assertEquals("666F6F6261", baos.toString("US-ASCII"));
+    }
+
+    @Test
+    public void flushKeepsBlockAlignmentTest() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        OutputStream outputStream = Base64.wrap(baos);
+
+        outputStream.write(TEST_VECTOR5_DECODED, 0, 4);
+        outputStream.flush();
+        Assertions.assertEquals("Zm9v", baos.toString("US-ASCII"));
+
+        outputStream.write(TEST_VECTOR5_DECODED, 4, 1);
+        outputStream.flush();
+        Assertions.assertEquals("Zm9v", baos.toString("US-ASCII"));
+
+        outputStream.close();
+        Assertions.assertEquals("Zm9vYmE=", baos.toString("US-ASCII"));
+    }
+
+    @Test
+    public void randomWriteTest() throws IOException {
+        Random rand = new Random();
+
+        byte[] testData = new byte[256 * 1024 + rand.nextInt(1024)];
+        rand.nextBytes(testData);
+
+        ByteArrayOutputStream base64 = new ByteArrayOutputStream();
+        ByteArrayOutputStream base64UrlSafe = new ByteArrayOutputStream();
+        ByteArrayOutputStream base32 = new ByteArrayOutputStream();
+        ByteArrayOutputStream base32ExtendedHex = new ByteArrayOutputStream();
+        ByteArrayOutputStream base16 = new ByteArrayOutputStream();
+
+        try (OutputStream os0 = Base64.wrap(base64);
+             OutputStream os1 = Base64.wrapUrlSafe(base64UrlSafe);
+             OutputStream os2 = Base32.wrap(base32);
+             OutputStream os3 = Base32.wrapExtendedHex(base32ExtendedHex);
+             OutputStream os4 = Base16.wrap(base16)) {
+            int offset = 0;
+            while (offset < testData.length) {
+                int len = Math.min(testData.length - offset, rand.nextInt(128 * 1024));
+                for (OutputStream outputStream : new OutputStream[]{os0, os1, os2, os3, os4}) {
+                    outputStream.write(testData, offset, len);
+                    if (rand.nextBoolean()) {
+                        outputStream.flush();
+                    }
+                }
+                offset += len;
+            }
+        }
+
+        Assertions.assertEquals(Base64.encode(testData), base64.toString("US-ASCII"));
+        Assertions.assertEquals(Base64.encodeUrlSafe(testData), base64UrlSafe.toString("US-ASCII"));
+        Assertions.assertEquals(Base32.encode(testData), base32.toString("US-ASCII"));
+        Assertions.assertEquals(Base32.encodeExtendedHex(testData), base32ExtendedHex.toString("US-ASCII"));
+        Assertions.assertEquals(Base16.encode(testData), base16.toString("US-ASCII"));
+    }
+
+    @Test
+    public void writeAfterCloseTestException0() throws IOException {
+        OutputStream outputStream = Base64.wrap(new ByteArrayOutputStream());
+        outputStream.close();
+        try {
+            outputStream.write(0);
+            Assertions.fail();
+        } catch (IOException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void wrapTestException0() {
+        try {
+            Base64.wrap((OutputStream) null);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+}
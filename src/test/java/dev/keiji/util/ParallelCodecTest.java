@@ -0,0 +1,169 @@
+package dev.keiji.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.nio.CharBuffer;
+import java.util.Random;
+
+// The threshold is shared by the whole JVM.
+@Isolated
+public class ParallelCodecTest {
+
+    @Test
+    public void encodeParallelTest() {
+        Random rand = new Random();
+
+        withThreshold(0, () -> {
+            for (int size : new int[]{0, 1, 2, 3, 4, 5, 1024 * 1024 + 1, 1024 * 1024 + 2, 2 * 1024 * 1024 + rand.nextInt(1024)}) {
+                byte[] testData = new byte[size];
+                rand.nextBytes(testData);
+
+                Assertions.assertEquals(Base64.encode(testData), Base64.encodeParallel(testData));
+                Assertions.assertEquals(Base64.encodeUrlSafe(testData), Base64.encodeUrlSafeParallel(testData));
+                Assertions.assertEquals(Base32.encode(testData), Base32.encodeParallel(testData));
+                Assertions.assertEquals(Base32.encodeExtendedHex(testData), Base32.encodeExtendedHexParallel(testData));
+                Assertions.assertEquals(Base16.encode(testData), Base16.encodeParallel(testData));
+            }
+        });
+    }
+
+    @Test
+    public void encodeParallelBelowThresholdTest() {
+        byte[] testData = new byte[1024];
+        new Random().nextBytes(testData);
+
+        withThreshold(Integer.MAX_VALUE, () -> {
+            Assertions.assertEquals(Base64.encode(testData), Base64.encodeParallel(testData));
+            Assertions.assertEquals(Base32.encode(testData), Base32.encodeParallel(testData));
+            Assertions.assertEquals(Base16.encode(testData), Base16.encodeParallel(testData));
+        });
+    }
+
+    @Test
+    public void encodeParallelTestException0() {
+        try {
+            Base64.encodeParallel(null);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    @Test
+    public void decodeParallelTest() {
+        Random rand = new Random();
+
+        withThreshold(0, () -> {
+            for (int size : new int[]{0, 1, 2, 3, 4, 5, 1024 * 1024 + 1, 1024 * 1024 + 2, 2 * 1024 * 1024 + rand.nextInt(1024)}) {
+                byte[] testData = new byte[size];
+                rand.nextBytes(testData);
+
+                Assertions.assertArrayEquals(testData, Base64.decodeParallel(Base64.encode(testData)));
+                Assertions.assertArrayEquals(testData, Base64.decodeUrlSafeParallel(Base64.encodeUrlSafe(testData)));
+                Assertions.assertArrayEquals(testData, Base32.decodeParallel(Base32.encode(testData)));
+                Assertions.assertArrayEquals(testData, Base32.decodeExtendedHexParallel(Base32.encodeExtendedHex(testData)));
+                Assertions.assertArrayEquals(testData, Base16.decodeParallel(Base16.encode(testData)));
+            }
+        });
+    }
+
+    @Test
+    public void decodeParallelTestCharSequence() {
+        byte[] testData = new byte[1024 * 1024 + 3];
+        new Random().nextBytes(testData);
+
+        withThreshold(0, () -> {
+            Assertions.assertArrayEquals(testData,
+                    Base64.decodeParallel(new StringBuilder(Base64.encode(testData))));
+            Assertions.assertArrayEquals(testData,
+                    Base64.decodeUrlSafeParallel(CharBuffer.wrap(Base64.encodeUrlSafe(testData))));
+            Assertions.assertArrayEquals(testData,
+                    Base32.decodeParallel(new StringBuilder(Base32.encode(testData))));
+            Assertions.assertArrayEquals(testData,
+                    Base32.decodeExtendedHexParallel(CharBuffer.wrap(Base32.encodeExtendedHex(testData))));
+            Assertions.assertArrayEquals(testData,
+                    Base16.decodeParallel(CharBuffer.wrap(Base16.encode(testData).toCharArray())));
+        });
+    }
+
+    @Test
+    public void decodeParallelPaddingInTheMiddleTest() {
+        byte[] testData = new byte[2 * 1024 * 1024];
+        new Random().nextBytes(testData);
+
+        // A PAD in the middle terminates the data, and the invalid character after it is ignored.
+        char[] encoded = Base64.encode(testData).toCharArray();
+        encoded[1024 * 1024] = '=';
+        encoded[encoded.length - 8] = '.';
+        String input = new String(encoded);
+
+        withThreshold(0, () -> {
+            byte[] decoded = Base64.decodeParallel(input);
+            Assertions.assertArrayEquals(Base64.decode(input), decoded);
+            Assertions.assertEquals(1024 * 1024 / 4 * 3, decoded.length);
+        });
+    }
+
+    @Test
+    public void decodeParallelTestException0() {
+        byte[] testData = new byte[2 * 1024 * 1024];
+        new Random().nextBytes(testData);
+
+        // The earliest invalid character is reported.
+        char[] encoded = Base64.encode(testData).toCharArray();
+        encoded[encoded.length / 2] = '.';
+        encoded[encoded.length - 8] = '!';
+        String input = new String(encoded);
+
+        withThreshold(0, () -> {
+            try {
+                Base64.decodeParallel(input);
+                Assertions.fail();
+            } catch (IllegalArgumentException exception) {
+                Assertions.assertEquals("Invalid character . detected.", exception.getMessage());
+            }
+        });
+    }
+
+    @Test
+    public void decodeParallelTestException1() {
+        byte[] testData = new byte[2 * 1024 * 1024];
+        new Random().nextBytes(testData);
+
+        char[] encoded = Base32.encode(testData).toCharArray();
+        encoded[encoded.length / 3] = '1';
+        encoded[encoded.length / 2] = '0';
+        String input = new String(encoded);
+
+        withThreshold(0, () -> {
+            try {
+                Base32.decodeParallel(input);
+                Assertions.fail();
+            } catch (IllegalArgumentException exception) {
+                Assertions.assertEquals("Invalid character 1 detected.", exception.getMessage());
+            }
+        });
+    }
+
+    @Test
+    public void decodeParallelTestException2() {
+        try {
+            Base16.decodeParallel(null);
+            Assertions.fail();
+        } catch (IllegalArgumentException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    private static void withThreshold(int threshold, Runnable runnable) {
+        int previous = CodecEngine.parallelThreshold();
+        CodecEngine.setParallelThreshold(threshold);
+        try {
+            runnable.run();
+        } finally {
+            CodecEngine.setParallelThreshold(previous);
+        }
+    }
+}
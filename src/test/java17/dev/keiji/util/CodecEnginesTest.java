@@ -0,0 +1,127 @@
+package dev.keiji.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+public class CodecEnginesTest {
+
+    @Test
+    public void isVectorAvailableTest() {
+        Assertions.assertTrue(CodecEngines.isVectorAvailable(null, true));
+        Assertions.assertTrue(CodecEngines.isVectorAvailable("true", true));
+
+        // -Ddev.keiji.util.vector=false
+        Assertions.assertFalse(CodecEngines.isVectorAvailable("false", true));
+        Assertions.assertFalse(CodecEngines.isVectorAvailable("FALSE", true));
+
+        // Without --add-modules jdk.incubator.vector
+        Assertions.assertFalse(CodecEngines.isVectorAvailable(null, false));
+        Assertions.assertFalse(CodecEngines.isVectorAvailable("true", false));
+    }
+
+    @Test
+    public void selectionTest() {
+        boolean expected = CodecEngines.isVectorAvailable(
+                System.getProperty(CodecEngines.VECTOR_PROPERTY),
+                ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+
+        for (Codec codec : new Codec[]{
+                Base64.standard(), Base64.urlSafe(), Base32.standard(), Base32.extendedHex(), Base16.upper()}) {
+            Assertions.assertEquals(expected, codec.engine instanceof VectorCodecEngine);
+        }
+    }
+
+    @Test
+    public void verifiedTest() {
+        CodecEngine scalar = scalar(Base64.standard());
+        CodecEngine vector = new Base64VectorEngine(scalar, Base64.encodeToBytes(base64Alphabet()));
+
+        Assertions.assertSame(vector, CodecEngines.verified(scalar, () -> vector));
+    }
+
+    @Test
+    public void verifiedTestFallback() {
+        for (Codec codec : new Codec[]{Base64.standard(), Base32.standard(), Base16.upper()}) {
+            CodecEngine scalar = scalar(codec);
+
+            // The incubator API changed and the engine cannot be linked.
+            Assertions.assertSame(scalar, CodecEngines.verified(scalar, () -> {
+                throw new NoClassDefFoundError("jdk/incubator/vector/ByteVector");
+            }));
+            Assertions.assertSame(scalar, CodecEngines.verified(scalar, () -> {
+                throw new UnsupportedOperationException();
+            }));
+
+            // The engine gives a different result.
+            Assertions.assertSame(scalar, CodecEngines.verified(scalar, () -> new BrokenEngine(scalar, true)));
+            Assertions.assertSame(scalar, CodecEngines.verified(scalar, () -> new BrokenEngine(scalar, false)));
+        }
+    }
+
+    private static CodecEngine scalar(Codec codec) {
+        return (codec.engine instanceof VectorCodecEngine) ? ((VectorCodecEngine) codec.engine).scalar : codec.engine;
+    }
+
+    /**
+     * Return the data whose Base64 encoding is the alphabet in order.
+     */
+    private static byte[] base64Alphabet() {
+        byte[] data = new byte[48];
+        for (int i = 0; i < 16; i++) {
+            int value = (i * 4) << 18 | (i * 4 + 1) << 12 | (i * 4 + 2) << 6 | (i * 4 + 3);
+            data[i * 3] = (byte) (value >>> 16);
+            data[i * 3 + 1] = (byte) (value >>> 8);
+            data[i * 3 + 2] = (byte) value;
+        }
+        return data;
+    }
+
+    /**
+     * An engine that breaks the last byte of the result of encoding or decoding.
+     */
+    private static final class BrokenEngine extends CodecEngine {
+        private final CodecEngine scalar;
+        private final boolean breakEncode;
+
+        BrokenEngine(CodecEngine scalar, boolean breakEncode) {
+            super(scalar.plainDataBlockSize, scalar.encodedDataBlockSize);
+            this.scalar = scalar;
+            this.breakEncode = breakEncode;
+        }
+
+        @Override
+        int encode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+            int written = scalar.encode(src, srcOffset, len, dst, dstOffset);
+            if (breakEncode && written > 0) {
+                dst[dstOffset + written - 1] ^= 1;
+            }
+            return written;
+        }
+
+        @Override
+        int decode(byte[] src, int srcOffset, int len, byte[] dst, int dstOffset) {
+            int written = scalar.decode(src, srcOffset, len, dst, dstOffset);
+            if (!breakEncode && written > 0) {
+                dst[dstOffset + written - 1] ^= 1;
+            }
+            return written;
+        }
+
+        @Override
+        int encode(ByteBuffer src, int srcIndex, int len, ByteBuffer dst, int dstIndex) {
+            return scalar.encode(src, srcIndex, len, dst, dstIndex);
+        }
+
+        @Override
+        int decode(ByteBuffer src, int srcIndex, int len, ByteBuffer dst, int dstIndex) {
+            return scalar.decode(src, srcIndex, len, dst, dstIndex);
+        }
+
+        @Override
+        int decode(CharSequence src, int start, int end, byte[] dst, int dstOffset) {
+            return scalar.decode(src, start, end, dst, dstOffset);
+        }
+    }
+}
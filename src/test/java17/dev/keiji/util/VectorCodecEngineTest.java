@@ -0,0 +1,225 @@
+package dev.keiji.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Supplier;
+
+public class VectorCodecEngineTest {
+
+    // The number of bytes in a vector.
+    private static final int VLEN = VectorCodecEngine.SPECIES.length();
+
+    private static final Codec[] CODECS = {
+            Base64.standard(), Base64.urlSafe(), Base32.standard(), Base32.extendedHex(), Base16.upper()
+    };
+
+    // A padded block of each codec, which decodes to a single byte.
+    private static final String[] PADDED_BLOCKS = {"QQ==", "QQ==", "IE======", "84======", null};
+
+    private static final char[] INVALID_CHARS = {'!', '\0', '=', '\u0080', '\u00FF', '\u0141', '\uFFFF'};
+
+    @Test
+    public void encodeTest() {
+        Random rand = new Random();
+
+        for (Codec codec : CODECS) {
+            CodecEngine vector = codec.engine;
+            CodecEngine scalar = scalar(codec);
+
+            for (int len = 0; len <= VLEN * 3; len++) {
+                byte[] plain = new byte[len + 2];
+                rand.nextBytes(plain);
+
+                byte[] expected = new byte[scalar.encodedLength(len) + 2];
+                byte[] actual = new byte[expected.length];
+                Assertions.assertEquals(
+                        scalar.encode(plain, 1, len, expected, 1),
+                        vector.encode(plain, 1, len, actual, 1));
+                Assertions.assertArrayEquals(expected, actual, codec + " " + len);
+            }
+        }
+    }
+
+    @Test
+    public void decodeTest() {
+        Random rand = new Random();
+
+        for (Codec codec : CODECS) {
+            CodecEngine vector = codec.engine;
+            CodecEngine scalar = scalar(codec);
+
+            for (int len = 0; len <= VLEN * 3; len++) {
+                byte[] plain = new byte[len];
+                rand.nextBytes(plain);
+                String encoded = codec.encode(plain);
+
+                Assertions.assertEquals(outcome(scalar, encoded), outcome(vector, encoded), codec + " " + len);
+                Assertions.assertArrayEquals(plain, codec.decode(encoded));
+                Assertions.assertArrayEquals(plain, codec.decodeFromBytes(ascii(encoded)));
+            }
+        }
+    }
+
+    @Test
+    public void decodeTestInvalidCharacter() {
+        Random rand = new Random();
+
+        for (Codec codec : CODECS) {
+            CodecEngine vector = codec.engine;
+            CodecEngine scalar = scalar(codec);
+
+            // Four vectors of complete blocks and a scalar tail of one block.
+            int encodedLength = (VLEN * 4 / scalar.encodedDataBlockSize + 1) * scalar.encodedDataBlockSize;
+            byte[] plain = new byte[encodedLength / scalar.encodedDataBlockSize * scalar.plainDataBlockSize];
+            rand.nextBytes(plain);
+            String encoded = codec.encode(plain);
+            Assertions.assertEquals(encodedLength, encoded.length());
+
+            // Every position covers the first, middle and last vector and the tail.
+            for (int position = 0; position < encodedLength; position++) {
+                for (char invalid : INVALID_CHARS) {
+                    if (invalid == '=' && codec != Base16.upper()) {
+                        continue;
+                    }
+                    assertInvalid(codec, encoded, position, invalid);
+                }
+            }
+
+            // Every character out of the alphabet, including those next to its ranges,
+            // in the first, middle and last vector and the tail.
+            int[] positions = {0, 1, VLEN * 2 - 1, VLEN * 2, VLEN * 4 - 1, encodedLength - 1};
+            for (char invalid = 0; invalid <= 0xFF; invalid++) {
+                if (isInAlphabet(scalar, invalid)) {
+                    continue;
+                }
+                for (int position : positions) {
+                    assertInvalid(codec, encoded, position, invalid);
+                }
+            }
+        }
+    }
+
+    private static void assertInvalid(Codec codec, String encoded, int position, char invalid) {
+        StringBuilder sb = new StringBuilder(encoded);
+        sb.setCharAt(position, invalid);
+        String input = sb.toString();
+
+        String expected = outcome(scalar(codec), input);
+        Assertions.assertTrue(expected.startsWith("Invalid character"), codec + " " + position + " " + expected);
+        Assertions.assertEquals(expected, outcome(codec.engine, input), codec + " " + position);
+    }
+
+    /**
+     * Return true if key is in the alphabet of engine or is PAD.
+     */
+    private static boolean isInAlphabet(CodecEngine engine, char key) {
+        char[] block = new char[engine.encodedDataBlockSize];
+        Arrays.fill(block, key);
+        try {
+            engine.decode(new String(block), 0, block.length, new byte[engine.plainDataBlockSize], 0);
+            return true;
+        } catch (IllegalArgumentException exception) {
+            return false;
+        }
+    }
+
+    @Test
+    public void decodeTestPaddingInVector() {
+        Random rand = new Random();
+
+        for (int i = 0; i < CODECS.length; i++) {
+            Codec codec = CODECS[i];
+            String paddedBlock = PADDED_BLOCKS[i];
+            if (paddedBlock == null) {
+                continue;
+            }
+            CodecEngine vector = codec.engine;
+            CodecEngine scalar = scalar(codec);
+
+            int blocks = VLEN * 4 / scalar.encodedDataBlockSize + 1;
+            byte[] plain = new byte[blocks * scalar.plainDataBlockSize];
+            rand.nextBytes(plain);
+            String encoded = codec.encode(plain);
+
+            for (int block = 0; block < blocks; block++) {
+                int position = block * scalar.encodedDataBlockSize;
+                String input = encoded.substring(0, position) + paddedBlock
+                        + encoded.substring(position + paddedBlock.length());
+
+                Assertions.assertEquals(outcome(scalar, input), outcome(vector, input), codec + " " + block);
+            }
+        }
+    }
+
+    @Test
+    public void decodeIntoTestExactSize() {
+        Random rand = new Random();
+
+        for (Codec codec : CODECS) {
+            CodecEngine vector = codec.engine;
+
+            for (int len = 0; len <= VLEN * 3; len++) {
+                byte[] plain = new byte[len];
+                rand.nextBytes(plain);
+                String encoded = codec.encode(plain);
+                byte[] ascii = ascii(encoded);
+
+                // The result ends exactly at the end of dst.
+                byte[] dst = new byte[len];
+                Assertions.assertEquals(len, vector.decodeInto(encoded, 0, encoded.length(), true, dst, 0));
+                Assertions.assertArrayEquals(plain, dst);
+
+                dst = new byte[len + 3];
+                Assertions.assertEquals(len, vector.decodeInto(encoded, 0, encoded.length(), true, dst, 3));
+                Assertions.assertArrayEquals(plain, Arrays.copyOfRange(dst, 3, dst.length));
+
+                dst = new byte[len];
+                Assertions.assertEquals(len, vector.decode(ascii, 0, ascii.length, dst, 0));
+                Assertions.assertArrayEquals(plain, dst);
+            }
+        }
+    }
+
+    private static CodecEngine scalar(Codec codec) {
+        Assertions.assertTrue(codec.engine instanceof VectorCodecEngine, codec + " has no vector engine.");
+        return ((VectorCodecEngine) codec.engine).scalar;
+    }
+
+    /**
+     * Decode input through both the char and the byte paths of engine, and return the result or the error.
+     */
+    private static String outcome(CodecEngine engine, String input) {
+        String chars = outcome(() -> {
+            byte[] dst = new byte[input.length()];
+            return Arrays.copyOf(dst, engine.decode(input, 0, input.length(), dst, 0));
+        });
+
+        // Characters out of ISO-8859-1 cannot be bytes.
+        boolean latin1 = input.chars().allMatch(c -> c <= 0xFF);
+        if (!latin1) {
+            return chars;
+        }
+        byte[] src = input.getBytes(StandardCharsets.ISO_8859_1);
+        String bytes = outcome(() -> {
+            byte[] dst = new byte[src.length];
+            return Arrays.copyOf(dst, engine.decode(src, 0, src.length, dst, 0));
+        });
+        return chars + " / " + bytes;
+    }
+
+    private static String outcome(Supplier<byte[]> decode) {
+        try {
+            return Arrays.toString(decode.get());
+        } catch (IllegalArgumentException exception) {
+            return exception.getMessage();
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}